@@ -7,6 +7,9 @@ import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
 
 /**
  * Configuration class for AWS S3 client setup.
@@ -23,6 +26,10 @@ public class AwsS3Config {
         @Value("${aws.region}")
         private String region;
 
+        /** Optional S3-compatible endpoint, such as a local stand-in; AWS otherwise. */
+        @Value("${aws.s3.endpoint:}")
+        private String endpoint;
+
         /**
          * Provides the AWS S3 client bean configured with credentials and region.
          *
@@ -30,11 +37,14 @@ public class AwsS3Config {
          */
         @Bean
         public S3Client s3Client() {
-                return S3Client.builder()
+                S3ClientBuilder builder = S3Client.builder()
                                 .region(Region.of(region))
                                 .credentialsProvider(
                                                 StaticCredentialsProvider.create(
-                                                                AwsBasicCredentials.create(accessKey, secretKey)))
-                                .build();
+                                                                AwsBasicCredentials.create(accessKey, secretKey)));
+                if (!endpoint.isEmpty()) {
+                        builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+                }
+                return builder.build();
         }
 }
@@ -0,0 +1,97 @@
+package com.prepmentor.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the read replica. Active only when
+ * {@code datasource.replica.jdbc-url} is set; otherwise the single
+ * auto-configured {@code spring.datasource} is used for everything.
+ * <p>
+ * The replica pool is a Hikari pool bound to the {@code datasource.replica.*}
+ * properties ({@code jdbc-url}, {@code username}, {@code password},
+ * {@code maximum-pool-size}, ...). Read-only transactions use it unless the
+ * current user wrote within {@code datasource.routing.sticky-window}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.jdbc-url")
+public class DataSourceRoutingConfig {
+
+    @Value("${datasource.routing.sticky-window:5s}")
+    private Duration stickyWindow;
+
+    /**
+     * Provides the primary pool, configured from {@code spring.datasource.*}.
+     *
+     * @param properties the spring.datasource properties
+     * @return the primary data source
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Provides the read-only replica pool, configured from
+     * {@code datasource.replica.*}.
+     *
+     * @return the replica data source
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Provides the tracker keeping users on the primary right after they write.
+     *
+     * @return the stickiness tracker
+     */
+    @Bean
+    public ReplicaStickiness replicaStickiness() {
+        return new ReplicaStickiness(stickyWindow, Clock.systemUTC());
+    }
+
+    /**
+     * Provides the data source used by JPA, JDBC and Flyway: a lazy proxy over
+     * the read/write router.
+     *
+     * @param primary    the primary pool
+     * @param replica    the replica pool
+     * @param stickiness the stickiness tracker
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaStickiness stickiness) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(stickiness);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primary,
+                ReadWriteRoutingDataSource.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
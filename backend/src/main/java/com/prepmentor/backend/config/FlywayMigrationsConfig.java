@@ -0,0 +1,39 @@
+package com.prepmentor.backend.config;
+
+import db.migration.V6__BackfillQuestionSearchIndex;
+import db.migration.V8__BackfillQuestionLookups;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration registering the Java migrations with Flyway as beans, which
+ * Spring Boot passes on as {@code javaMigrations}. Flyway cannot find them by
+ * scanning the classpath of a native image, where only the SQL migrations
+ * would otherwise run.
+ */
+@Configuration
+public class FlywayMigrationsConfig {
+
+    /**
+     * Provides the migration indexing the questions published before the search
+     * index existed.
+     *
+     * @return the V6 migration
+     */
+    @Bean
+    public JavaMigration backfillQuestionSearchIndex() {
+        return new V6__BackfillQuestionSearchIndex();
+    }
+
+    /**
+     * Provides the migration moving question types, difficulties and tags into
+     * the lookup tables.
+     *
+     * @return the V8 migration
+     */
+    @Bean
+    public JavaMigration backfillQuestionLookups() {
+        return new V8__BackfillQuestionLookups();
+    }
+}
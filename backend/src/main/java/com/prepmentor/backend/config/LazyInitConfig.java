@@ -0,0 +1,47 @@
+package com.prepmentor.backend.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuration deferring the creation of beans no request needs right after
+ * startup, such as Swagger and the AWS SDK, to their first use.
+ * <p>
+ * Enabled with {@code startup.lazy-init.enabled=true}; the beans whose type is
+ * in one of the {@code startup.lazy-init.packages} are made lazy. Unlike
+ * {@code spring.main.lazy-initialization}, the controllers, repositories and
+ * JPA stay eager, so the first request after a cold start does not pay for them.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    /**
+     * Provides the post-processor marking the non-critical beans lazy. Static,
+     * as it must run before any other bean is created.
+     *
+     * @param environment the environment holding the startup properties
+     * @return the bean factory post-processor
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        boolean enabled = environment.getProperty("startup.lazy-init.enabled", Boolean.class, false);
+        List<String> packages = Arrays.asList(
+                environment.getProperty("startup.lazy-init.packages", String[].class, new String[0]));
+        return beanFactory -> {
+            if (!enabled) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                Class<?> type = beanFactory.getType(name, false);
+                if (type != null && packages.stream().anyMatch(p -> type.getName().startsWith(p + "."))) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.prepmentor.backend.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Configuration of the application metrics, served in Prometheus format at
+ * {@code /actuator/prometheus}.
+ * <p>
+ * Spring Boot registers the JVM, GC, Hikari, Tomcat and executor metrics
+ * itself; the task executor of {@link TaskExecutorConfig} shows up as
+ * {@code executor_*{name="taskExecutor"}}. The request latency histograms are
+ * enabled in application.properties and additionally tagged here with the
+ * handling controller. The hit, miss and put counts of the Hibernate
+ * second-level cache regions are added here as well when
+ * {@code hibernate.generate_statistics} is switched on.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Provides the naming of the {@code http.server.requests} metrics, adding a
+     * {@code controller} tag to the default method, uri, status, outcome and
+     * exception tags.
+     *
+     * @return the observation convention
+     */
+    @Bean
+    public ServerRequestObservationConvention controllerTaggingObservationConvention() {
+        return new ControllerTaggingObservationConvention();
+    }
+
+    /**
+     * Provides the hit, miss and put counts of every second-level cache region,
+     * as {@code hibernate_second_level_cache_requests_total{region,result}} and
+     * {@code hibernate_second_level_cache_puts_total{region}}, plus the number of
+     * entries held. Binds nothing unless Hibernate statistics are enabled, since
+     * every count would stay 0.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> bindCacheRegions(entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+                registry);
+    }
+
+    static void bindCacheRegions(Statistics statistics, MeterRegistry registry) {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            // Looked up on every read: clearing the statistics replaces the region's object
+            FunctionCounter.builder("hibernate.second.level.cache.requests", statistics,
+                            s -> region(s, name, CacheRegionStatistics::getHitCount))
+                    .tags("region", name, "result", "hit")
+                    .description("Lookups answered by the second-level cache region")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.second.level.cache.requests", statistics,
+                            s -> region(s, name, CacheRegionStatistics::getMissCount))
+                    .tags("region", name, "result", "miss")
+                    .description("Lookups of the second-level cache region that went to the database")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.second.level.cache.puts", statistics,
+                            s -> region(s, name, CacheRegionStatistics::getPutCount))
+                    .tag("region", name)
+                    .description("Entries stored into the second-level cache region")
+                    .register(registry);
+            Gauge.builder("hibernate.second.level.cache.entries", statistics,
+                            s -> region(s, name, CacheRegionStatistics::getElementCountInMemory))
+                    .tag("region", name)
+                    .description("Entries held by the second-level cache region, negative if not reported")
+                    .register(registry);
+        }
+    }
+
+    private static double region(Statistics statistics, String name, ToLongFunction<CacheRegionStatistics> count) {
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+        return region == null ? 0 : count.applyAsLong(region);
+    }
+
+    /**
+     * Default server request convention plus the simple name of the controller
+     * that handled the request, or {@code none} for requests that did not reach
+     * one (static resources, 404s, rejected by security).
+     */
+    static class ControllerTaggingObservationConvention extends DefaultServerRequestObservationConvention {
+
+        private static final String CONTROLLER = "controller";
+
+        @Override
+        public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+            return super.getLowCardinalityKeyValues(context).and(controller(context));
+        }
+
+        private static KeyValue controller(ServerRequestObservationContext context) {
+            Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            if (handler instanceof HandlerMethod handlerMethod) {
+                return KeyValue.of(CONTROLLER, handlerMethod.getBeanType().getSimpleName());
+            }
+            return KeyValue.of(CONTROLLER, "none");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.prepmentor.backend.config;
+
+import com.prepmentor.backend.common.ApiResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Configuration contributing the reachability metadata a GraalVM native image
+ * of the backend needs beyond what Spring AOT infers and what the libraries
+ * ship themselves (Hibernate, OkHttp and the AWS SDK include their own).
+ * <p>
+ * Only read during AOT processing; it has no effect on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BackendRuntimeHints.class)
+public class NativeHintsConfig {
+
+    /**
+     * Registers the reflection and resources used by jjwt, the JCache provider
+     * and the JSON request and response types.
+     */
+    static class BackendRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final String DTO_PACKAGE = "com.prepmentor.backend.dto";
+
+        /** jjwt-api instantiates its implementation classes by name. */
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer" };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            // Hibernate resolves the provider of hibernate.javax.cache.provider by name
+            hints.reflection().registerType(TypeReference.of("org.ehcache.jsr107.EhcacheCachingProvider"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("ehcache*.xml");
+
+            // Generic payloads such as ApiResponse<List<QuestionSetSummaryResponse>> are not
+            // all visible from the controller signatures
+            BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((reader, factory) -> true);
+            for (BeanDefinition dto : scanner.findCandidateComponents(DTO_PACKAGE)) {
+                bindingHints.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(dto.getBeanClassName(), classLoader));
+            }
+            bindingHints.registerReflectionHints(hints.reflection(), ApiResponse.class);
+        }
+    }
+}
@@ -11,6 +11,12 @@ public class OpenAIConfig {
     @Value("${openai.api.key}")
     private String apiKey;
 
+    @Value("${openai.api.url:https://api.openai.com}")
+    private String apiUrl;
+
+    @Value("${openai.max-concurrent-requests:256}")
+    private int maxConcurrentRequests;
+
     /**
      * Returns the OpenAI API key from configuration.
      *
@@ -19,4 +25,22 @@ public class OpenAIConfig {
     public String getApiKey() {
         return apiKey;
     }
+
+    /**
+     * Returns the base URL of the OpenAI API.
+     *
+     * @return the OpenAI API base URL
+     */
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * Returns the maximum number of OpenAI calls in flight at once.
+     *
+     * @return the concurrent request limit
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
 }
@@ -0,0 +1,78 @@
+package com.prepmentor.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prepmentor.backend.common.ApiResponse;
+import com.prepmentor.backend.service.RateLimitService;
+import com.prepmentor.backend.util.TokenBucket;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor applying the {@link RateLimited} policies per authenticated user.
+ * <p>
+ * Every limited response carries {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset} (seconds until the
+ * user's bucket is full again). Requests over the limit are answered with 429
+ * and {@code Retry-After} before reaching the controller.
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        // The async result dispatch of an already admitted request is not counted again
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RateLimited rateLimited = method.getMethodAnnotation(RateLimited.class);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (rateLimited == null || authentication == null) {
+            return true;
+        }
+
+        String policy = rateLimited.value();
+        TokenBucket.Result result = rateLimitService.tryAcquire(policy, authentication.getName());
+        response.setHeader("RateLimit-Limit", String.valueOf(rateLimitService.getCapacity(policy)));
+        response.setHeader("RateLimit-Remaining", String.valueOf(result.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(result.getUntilFullNanos())));
+        if (result.isAllowed()) {
+            return true;
+        }
+
+        long retryAfter = toSeconds(result.getRetryAfterNanos());
+        log.info("Rate limit {} exceeded by {}, retry after {}s", policy, authentication.getName(), retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<Void>(
+                429, "Too many requests", null, List.of("Retry after " + retryAfter + " seconds")));
+        return false;
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
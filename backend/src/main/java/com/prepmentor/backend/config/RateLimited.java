@@ -0,0 +1,21 @@
+package com.prepmentor.backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as rate limited per authenticated user. The policy
+ * is configured with {@code rate-limit.<policy>.capacity} and
+ * {@code rate-limit.<policy>.period}; see {@link RateLimitInterceptor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * @return the name of the rate limit policy
+     */
+    String value();
+}
@@ -0,0 +1,56 @@
+package com.prepmentor.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the replica and everything
+ * else to the primary. Users who wrote recently are kept on the primary (see
+ * {@link ReplicaStickiness}).
+ * <p>
+ * Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager obtains its connection before the read-only flag of
+ * the transaction is published, and the proxy defers the routing decision to
+ * the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Lookup key of the primary (read-write) data source. */
+    public static final String PRIMARY = "primary";
+
+    /** Lookup key of the replica (read-only) data source. */
+    public static final String REPLICA = "replica";
+
+    private final ReplicaStickiness stickiness;
+
+    /**
+     * Creates the routing data source; target data sources are set by the
+     * caller.
+     *
+     * @param stickiness the tracker of users who wrote recently
+     */
+    public ReadWriteRoutingDataSource(ReplicaStickiness stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stickiness.markCurrentUserWrote();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        return stickiness.isCurrentUserPinned() ? PRIMARY : REPLICA;
+    }
+}
@@ -0,0 +1,74 @@
+package com.prepmentor.backend.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the users who wrote to the primary database recently, so their reads
+ * stay on the primary until the replica has caught up (read-your-writes).
+ */
+public class ReplicaStickiness {
+
+    /** Number of tracked users above which expired entries are purged. */
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final Duration window;
+    private final Clock clock;
+
+    /**
+     * Creates the tracker.
+     *
+     * @param window how long a user's reads stay on the primary after a write
+     * @param clock  the clock used to expire entries
+     */
+    public ReplicaStickiness(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Pins the current user to the primary for the stickiness window. Does
+     * nothing outside an authenticated request.
+     */
+    public void markCurrentUserWrote() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        long now = clock.millis();
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+        pinnedUntil.put(user, now + window.toMillis());
+    }
+
+    /**
+     * Returns whether the current user wrote within the stickiness window.
+     *
+     * @return true if the current user's reads must go to the primary
+     */
+    public boolean isCurrentUserPinned() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(user);
+        return until != null && until > clock.millis();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
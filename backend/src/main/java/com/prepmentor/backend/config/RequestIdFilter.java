@@ -0,0 +1,76 @@
+package com.prepmentor.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Filter giving every request a correlation id, which the log layouts include
+ * from the MDC. A well-formed id sent by the caller in {@value #HEADER} is kept,
+ * otherwise one is generated; either way it is returned in the same response
+ * header.
+ * <p>
+ * The id is also set for the async dispatch of a request. Work continuing on
+ * other threads carries it over explicitly, see {@link TaskExecutorConfig} and
+ * the OpenAI client.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    /** Header carrying the request id in both directions. */
+    public static final String HEADER = "X-Request-Id";
+
+    /** MDC key of the request id. */
+    public static final String MDC_KEY = "requestId";
+
+    private static final String ATTRIBUTE = RequestIdFilter.class.getName() + ".id";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String requestId = (String) request.getAttribute(ATTRIBUTE);
+        if (requestId == null) {
+            requestId = request.getHeader(HEADER);
+            if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+                requestId = generateId();
+            }
+            request.setAttribute(ATTRIBUTE, requestId);
+            response.setHeader(HEADER, requestId);
+        }
+
+        MDC.put(MDC_KEY, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Generates a 16 digit hex id; unlike a random UUID it does not go through
+     * the shared SecureRandom.
+     */
+    private static String generateId() {
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+}
@@ -1,8 +1,11 @@
 package com.prepmentor.backend.config;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -28,6 +31,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    @Autowired
+    private Environment env;
+
     /**
      * Configures the security filter chain for HTTP requests.
      *
@@ -41,6 +47,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Async results are dispatched after the request itself was authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/register",
                                 "/api/login",
@@ -48,13 +56,33 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/swagger-resources/**",
                                 "/webjars/**",
-                                "/api-docs/**")
+                                "/api-docs/**",
+                                "/actuator/health",
+                                "/livez",
+                                "/readyz")
                         .permitAll()
+                        // The other actuator endpoints need a token unless served on the internal management port
+                        .requestMatchers(this::onManagementPort).permitAll()
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
+    /**
+     * Whether a request came in on the separate management server
+     * ({@code management.server.port}), which is only reachable from the
+     * internal network.
+     *
+     * @param request the request
+     * @return true if the request was received on the management port
+     */
+    private boolean onManagementPort(HttpServletRequest request) {
+        // Without a separate management server, this is also set, to the server port
+        String managementPort = env.getProperty("local.management.port");
+        return managementPort != null && !managementPort.equals(env.getProperty("local.server.port"))
+                && managementPort.equals(String.valueOf(request.getLocalPort()));
+    }
+
     /**
      * Provides a BCrypt password encoder bean.
      *
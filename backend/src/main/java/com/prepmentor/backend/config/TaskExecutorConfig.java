@@ -1,17 +1,31 @@
 package com.prepmentor.backend.config;
 
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * Configuration class for asynchronous task execution using a thread pool.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} (Java 21 only) the tasks run
+ * on virtual threads instead, like the Tomcat request handling. Tasks run with
+ * the MDC and the security context of the thread that submitted them, so their
+ * log lines keep the request id and their writes keep the user's reads on the
+ * primary database (see {@link ReplicaStickiness}). The controllers store OpenAI results on this executor. Its queue
+ * is bounded: when the threads and the queue are full, a task is rejected
+ * rather than run on the submitting thread, which would be an HTTP client or
+ * timer thread; the callers turn the rejection into a 503 response.
  */
 @EnableAsync
 @Configuration
@@ -22,18 +36,54 @@ public class TaskExecutorConfig {
 
     /**
      * Provides a thread pool task executor bean configured from environment
-     * properties.
+     * properties, or a virtual thread per task in virtual thread mode.
      *
      * @return the configured TaskExecutor
      */
     @Bean(name = "taskExecutor")
     public TaskExecutor sduTaskExecutor() {
+        if (env.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Executor-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(contextPropagation());
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(Integer.parseInt(Objects.requireNonNull(env.getProperty("thread.pool.size"))));
         executor.setMaxPoolSize(Integer.parseInt(Objects.requireNonNull(env.getProperty("thread.max.pool.size"))));
         executor.setQueueCapacity(Integer.parseInt(Objects.requireNonNull(env.getProperty("queue.capacity"))));
         executor.setThreadNamePrefix("Executor-");
+        executor.setTaskDecorator(contextPropagation());
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Copies the submitting thread's MDC and security context to the thread
+     * running the task.
+     *
+     * @return the task decorator
+     */
+    static TaskDecorator contextPropagation() {
+        return task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return new DelegatingSecurityContextRunnable(() -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    task.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            });
+        };
+    }
 }
@@ -1,21 +1,30 @@
 package com.prepmentor.backend.controller;
 
 import com.prepmentor.backend.common.ApiResponse;
+import com.prepmentor.backend.config.RateLimited;
+import com.prepmentor.backend.dto.AnswerAttemptResponse;
 import com.prepmentor.backend.dto.AnswerRequest;
 import com.prepmentor.backend.dto.AnswerResponse;
 import com.prepmentor.backend.model.Answer;
 
 import com.prepmentor.backend.service.AnswerService;
 import com.prepmentor.backend.service.OpenAIService;
-import com.prepmentor.backend.service.QuestionService;
+import com.prepmentor.backend.util.AsyncHandoff;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -30,6 +39,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
  * feedback.</li>
  * <li>GET /api/answers/{questionId} - Get an answer with feedback for a
  * specific question.</li>
+ * <li>GET /api/answers/{questionId}/attempts - Get all attempts at a specific
+ * question, oldest first.</li>
  * </ul>
  */
 @Slf4j
@@ -44,19 +55,26 @@ public class AnswerController {
     private OpenAIService openAIService;
 
     @Autowired
-    private QuestionService questionService;
+    @Qualifier("taskExecutor")
+    private TaskExecutor taskExecutor;
 
     /**
      * Uploads or updates an answer for a question and generates feedback using
      * OpenAI.
      * If an answer already exists for the user and question, it will be updated.
+     * The request thread is released while OpenAI evaluates the answer, and the
+     * evaluation is stored on the task executor rather than the HTTP client's
+     * thread. Rate limited per user by the {@code answers} policy.
      *
      * @param request the answer request containing answer details
-     * @return a response entity with the uploaded/updated answer details and
-     *         feedback
+     * @return a future of the response entity with the uploaded/updated answer
+     *         details and feedback, failed with a ServiceBusyException (503) if
+     *         the task executor is saturated
      */
     @PostMapping
-    public ResponseEntity<ApiResponse<AnswerResponse>> uploadAnswer(@Valid @RequestBody AnswerRequest request) {
+    @RateLimited("answers")
+    public CompletableFuture<ResponseEntity<ApiResponse<AnswerResponse>>> uploadAnswer(
+            @Valid @RequestBody AnswerRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
         Long userId = answerService.getUserIdByEmail(email);
@@ -66,25 +84,45 @@ public class AnswerController {
         Answer answer = (Answer) result[0];
         boolean isUpdate = (Boolean) result[1];
 
-        try {
-            // Fetch the question text
-            var question = questionService.getQuestionById(request.getQuestionId());
-            String openAIFeedback = openAIService.generateFeedback(question.getText(), answer.getText());
-            // Parse and apply feedback fields to the answer
-            answerService.applyFeedbackToAnswer(answer, openAIFeedback);
-            answerService.save(answer); // persist feedback fields
-        } catch (Exception e) {
-            log.error("Failed to generate feedback from OpenAI", e);
-            answer.setFeedback("Feedback not available at the moment.");
-            answerService.save(answer);
-        }
-
-        AnswerResponse dto = new AnswerResponse(answer);
-        String message = isUpdate ? "Answer updated successfully" : "Answer uploaded successfully";
-        log.info("{} for questionId: {}, userId: {}", message, request.getQuestionId(), userId);
+        // The evaluation is stored as the user, whose next reads must see it; the
+        // question text was loaded with the submission
+        Executor executor = new DelegatingSecurityContextExecutor(taskExecutor, SecurityContextHolder.getContext());
+        return AsyncHandoff.handleOn(openAIService.generateFeedback(answer.getQuestion().getText(), answer.getText()),
+                (openAIFeedback, error) -> {
+                    saveEvaluation(answer, openAIFeedback, error);
+
+                    AnswerResponse dto = new AnswerResponse(answer);
+                    String message = isUpdate ? "Answer updated successfully" : "Answer uploaded successfully";
+                    log.info("{} for questionId: {}, userId: {}", message, request.getQuestionId(), userId);
+
+                    ApiResponse<AnswerResponse> response = new ApiResponse<>(200, message, dto,
+                            Collections.emptyList());
+                    return ResponseEntity.ok(response);
+                }, executor);
+    }
 
-        ApiResponse<AnswerResponse> response = new ApiResponse<>(200, message, dto, Collections.emptyList());
-        return ResponseEntity.ok(response);
+    /**
+     * Applies and persists the OpenAI evaluation of an answer, or a placeholder
+     * feedback if the evaluation failed.
+     *
+     * @param answer         the submitted answer
+     * @param openAIFeedback the raw OpenAI feedback, null on failure
+     * @param error          the failure of the OpenAI call, null on success
+     */
+    private void saveEvaluation(Answer answer, String openAIFeedback, Throwable error) {
+        if (error == null) {
+            try {
+                // Parse and apply feedback fields to the answer
+                answerService.applyFeedbackToAnswer(answer, openAIFeedback);
+                answerService.saveFeedback(answer); // persist feedback fields
+                return;
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+        log.error("Failed to generate feedback from OpenAI", error);
+        answer.setFeedback("Feedback not available at the moment.");
+        answerService.saveFeedback(answer);
     }
 
     /**
@@ -118,4 +156,28 @@ public class AnswerController {
         }
     }
 
+    /**
+     * Retrieves a page of the attempts of the authenticated user at a specific
+     * question, oldest first, with the scores of each.
+     *
+     * @param questionId the ID of the question
+     * @param page       the zero-based page number
+     * @param size       the page size, at most 100
+     * @return a response entity with the attempts, empty if the question was
+     *         never answered or the page is past the last attempt
+     */
+    @GetMapping("/{questionId}/attempts")
+    public ResponseEntity<ApiResponse<List<AnswerAttemptResponse>>> getAttempts(@PathVariable Long questionId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = answerService.getUserIdByEmail(authentication.getName());
+
+        List<AnswerAttemptResponse> attempts = answerService.getAttempts(userId, questionId, page, size).stream()
+                .map(AnswerAttemptResponse::new)
+                .collect(Collectors.toList());
+        ApiResponse<List<AnswerAttemptResponse>> response = new ApiResponse<>(200, "Attempts retrieved successfully",
+                attempts, Collections.emptyList());
+        return ResponseEntity.ok(response);
+    }
 }
@@ -2,17 +2,23 @@ package com.prepmentor.backend.controller;
 
 import com.prepmentor.backend.common.ApiResponse;
 import com.prepmentor.backend.dto.QuestionPreviewResponse;
+import com.prepmentor.backend.dto.QuestionSliceResponse;
+import com.prepmentor.backend.model.QuestionSet;
+import com.prepmentor.backend.service.QuestionSearchService;
 import com.prepmentor.backend.service.QuestionService;
 import com.prepmentor.backend.service.QuestionSetService;
+import com.prepmentor.backend.util.HttpCaching;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller for handling question-related endpoints such as fetching and
@@ -22,9 +28,15 @@ import java.util.stream.Collectors;
  * <ul>
  * <li>GET /api/questions - Retrieve a paginated and filtered list of
  * questions.</li>
+ * <li>GET /api/questions?cursor= - Retrieve the same list in cursor mode,
+ * without COUNT or OFFSET queries.</li>
+ * <li>GET /api/questions/search - Keyword search over published questions,
+ * optionally filtered by type and difficulty.</li>
  * <li>GET /api/questions/{id} - Retrieve all questions for a specific question
  * set.</li>
  * </ul>
+ * The page-mode list and the questions of a set carry an ETag, so clients can
+ * revalidate them with {@code If-None-Match} and get a 304 without a body.
  */
 @Slf4j
 @RestController
@@ -37,6 +49,12 @@ public class QuestionController {
         @Autowired
         private QuestionSetService questionSetService;
 
+        @Autowired
+        private QuestionSearchService questionSearchService;
+
+        @Autowired
+        private HttpCaching httpCaching;
+
         /**
          * Retrieves a paginated and filtered list of questions.
          *
@@ -44,50 +62,126 @@ public class QuestionController {
          * @param size       the page size
          * @param type       the question type filter
          * @param difficulty the difficulty filter
-         * @return a paginated response of question previews
+         * @param tag        the tag filter, a single tag
+         * @param webRequest the request, for its {@code If-None-Match} header
+         * @return a paginated response of question previews, or 304 if the list has
+         *         not changed since the client's copy
          */
         @GetMapping
         public ResponseEntity<ApiResponse<Page<QuestionPreviewResponse>>> getQuestions(
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false) String type,
-                        @RequestParam(required = false) String difficulty) {
-                log.info("Fetching questions: page={}, size={}, type={}, difficulty={}", page, size, type, difficulty);
-                Page<QuestionPreviewResponse> questions = questionService.getQuestions(page, size, type, difficulty);
+                        @RequestParam(required = false) String difficulty,
+                        @RequestParam(required = false) String tag,
+                        WebRequest webRequest) {
+                String eTag = HttpCaching.eTag("questions", questionService.getQuestionListVersion());
+                CacheControl cacheControl = httpCaching.revalidate();
+                if (webRequest.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl)
+                                        .build();
+                }
+
+                log.info("Fetching questions: page={}, size={}, type={}, difficulty={}, tag={}", page, size, type,
+                                difficulty, tag);
+                Page<QuestionPreviewResponse> questions = questionService.getQuestions(page, size, type, difficulty,
+                                tag);
 
                 String msg = questions.isEmpty()
                                 ? "No questions found for these filters"
                                 : "Questions fetched successfully";
 
-                return ResponseEntity.ok(new ApiResponse<>(200, msg, questions, Collections.emptyList()));
+                return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl)
+                                .body(new ApiResponse<>(200, msg, questions, Collections.emptyList()));
+        }
+
+        /**
+         * Retrieves a filtered list of questions in cursor mode. Selected when the
+         * {@code cursor} parameter is present; pass it empty for the first page and
+         * then the {@code nextCursor} of the previous response.
+         *
+         * @param cursor       the continuation token, empty for the first page
+         * @param size         the page size
+         * @param type         the question type filter
+         * @param difficulty   the difficulty filter
+         * @param tag          the tag filter, a single tag
+         * @param includeTotal whether to include the total number of matches
+         * @return a page of question previews with the next cursor
+         */
+        @GetMapping(params = "cursor")
+        public ResponseEntity<ApiResponse<QuestionSliceResponse>> getQuestionSlice(
+                        @RequestParam String cursor,
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(required = false) String type,
+                        @RequestParam(required = false) String difficulty,
+                        @RequestParam(required = false) String tag,
+                        @RequestParam(defaultValue = "false") boolean includeTotal) {
+                log.info("Fetching questions: cursor={}, size={}, type={}, difficulty={}, tag={}", cursor, size,
+                                type, difficulty, tag);
+                QuestionSliceResponse slice = questionService.getQuestionSlice(cursor, size, type, difficulty, tag,
+                                includeTotal);
+
+                String msg = slice.getContent().isEmpty()
+                                ? "No questions found for these filters"
+                                : "Questions fetched successfully";
+
+                return ResponseEntity.ok(new ApiResponse<>(200, msg, slice, Collections.emptyList()));
+        }
+
+        /**
+         * Searches published questions by keywords in their text and tags.
+         *
+         * @param q          the keywords
+         * @param type       the exact type filter
+         * @param difficulty the exact difficulty filter
+         * @param size       the maximum number of results
+         * @return the matching question previews, most relevant first
+         */
+        @GetMapping("/search")
+        public ResponseEntity<ApiResponse<List<QuestionPreviewResponse>>> searchQuestions(
+                        @RequestParam String q,
+                        @RequestParam(required = false) String type,
+                        @RequestParam(required = false) String difficulty,
+                        @RequestParam(defaultValue = "20") int size) {
+                log.info("Searching questions: q={}, type={}, difficulty={}, size={}", q, type, difficulty, size);
+                List<QuestionPreviewResponse> results = questionSearchService.search(q, type, difficulty, size);
+
+                String msg = results.isEmpty()
+                                ? "No questions match this search"
+                                : "Questions found";
+
+                return ResponseEntity.ok(new ApiResponse<>(200, msg, results, Collections.emptyList()));
         }
 
         /**
          * Retrieves all questions for a specific question set.
          *
-         * @param id the question set ID
-         * @return a list of question previews for the set
+         * @param id         the question set ID
+         * @param webRequest the request, for its {@code If-None-Match} header
+         * @return a list of question previews for the set, or 304 if the set has not
+         *         changed since the client's copy
          */
         @GetMapping("/{id}")
-        public ResponseEntity<ApiResponse<List<QuestionPreviewResponse>>> getQuestionsBySet(@PathVariable Long id) {
-                log.info("Fetching questions for question set ID: {}", id);
+        public ResponseEntity<ApiResponse<List<QuestionPreviewResponse>>> getQuestionsBySet(@PathVariable Long id,
+                        WebRequest webRequest) {
                 // Ensures question set exists; will throw 404 if not
-                questionSetService.getQuestionSetById(id);
-
-                List<QuestionPreviewResponse> responses = questionService.getQuestionsBySet(id)
-                                .stream()
-                                .map(q -> new QuestionPreviewResponse(
-                                                q.getId(),
-                                                q.getText(),
-                                                q.getType(),
-                                                q.getDifficulty(),
-                                                q.getTags()))
-                                .collect(Collectors.toList());
+                QuestionSet questionSet = questionSetService.getQuestionSetHeader(id);
+                String eTag = HttpCaching.eTag("question-set", id, questionSet.getVersion(), "questions");
+                CacheControl cacheControl = httpCaching.forQuestionSet(questionSet.getStatus());
+                if (webRequest.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl)
+                                        .build();
+                }
+
+                log.info("Fetching questions for question set ID: {}", id);
+
+                List<QuestionPreviewResponse> responses = questionService.getQuestionsBySet(id);
 
                 String msg = responses.isEmpty()
                                 ? "No questions found for this question set"
                                 : "Questions fetched successfully for set";
 
-                return ResponseEntity.ok(new ApiResponse<>(200, msg, responses, Collections.emptyList()));
+                return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl)
+                                .body(new ApiResponse<>(200, msg, responses, Collections.emptyList()));
         }
 }
@@ -1,20 +1,30 @@
 package com.prepmentor.backend.controller;
 
 import com.prepmentor.backend.common.ApiResponse;
+import com.prepmentor.backend.config.RateLimited;
 import com.prepmentor.backend.dto.QuestionSetRequest;
 import com.prepmentor.backend.dto.QuestionSetResponse;
+import com.prepmentor.backend.dto.QuestionSetSummaryResponse;
 import com.prepmentor.backend.model.QuestionSet;
 import com.prepmentor.backend.service.OpenAIService;
 import com.prepmentor.backend.service.QuestionSetService;
+import com.prepmentor.backend.util.AsyncHandoff;
+import com.prepmentor.backend.util.HttpCaching;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.io.IOException;
 import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -26,8 +36,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
  * <ul>
  * <li>POST /api/question-sets/generate - Generate a new question set using
  * OpenAI.</li>
- * <li>GET /api/question-sets - Retrieve all question sets for the authenticated
- * user.</li>
+ * <li>GET /api/question-sets - Retrieve a page of question set summaries for
+ * the authenticated user.</li>
  * <li>GET /api/question-sets/{id} - Retrieve a specific question set by
  * ID.</li>
  * <li>POST /api/question-sets/{id}/confirm - Confirm and publish a question
@@ -44,45 +54,64 @@ public class QuestionSetController {
         @Autowired
         private OpenAIService openAIService;
 
+        @Autowired
+        private HttpCaching httpCaching;
+
+        @Autowired
+        @Qualifier("taskExecutor")
+        private TaskExecutor taskExecutor;
+
         /**
-         * Generates a new question set using OpenAI and saves it as a draft.
+         * Generates a new question set using OpenAI and saves it as a draft. The
+         * request thread is released while OpenAI generates the questions, and the
+         * draft is saved on the task executor rather than the HTTP client's thread.
+         * Rate limited per user by the {@code generate} policy.
          *
          * @param req the question set request containing generation parameters
-         * @return a response entity with the ID of the created question set
-         * @throws IOException if OpenAI API call fails
+         * @return a future of the response entity with the ID of the created
+         *         question set, failed with an IOException if the OpenAI API call
+         *         fails or with a ServiceBusyException (503) if the task executor
+         *         is saturated
          */
         @PostMapping("/generate")
-        public ResponseEntity<ApiResponse<Long>> generateQuestions(@Valid @RequestBody QuestionSetRequest req)
-                        throws IOException {
+        @RateLimited("generate")
+        public CompletableFuture<ResponseEntity<ApiResponse<Long>>> generateQuestions(
+                        @Valid @RequestBody QuestionSetRequest req) {
 
-                List<String> questions = openAIService.generateQuestions(req);
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
                 String email = authentication.getName();
                 Long userId = questionSetService.getUserIdByEmail(email);
-                Long questionSetId = questionSetService.createDraftQuestionSet(req, userId, questions);
 
-                return ResponseEntity.ok(new ApiResponse<>(
-                                200,
-                                "Questions generated and saved as draft",
-                                questionSetId,
-                                Collections.emptyList()));
+                // The draft is saved as the user, whose next reads must see it
+                Executor executor = new DelegatingSecurityContextExecutor(taskExecutor,
+                                SecurityContextHolder.getContext());
+                return AsyncHandoff.applyOn(openAIService.generateQuestions(req), questions -> {
+                        Long questionSetId = questionSetService.createDraftQuestionSet(req, userId, questions);
+                        return ResponseEntity.ok(new ApiResponse<>(
+                                        200,
+                                        "Questions generated and saved as draft",
+                                        questionSetId,
+                                        Collections.emptyList()));
+                }, executor);
         }
 
         /**
-         * Retrieves all question sets for the authenticated user.
+         * Retrieves a page of question set summaries for the authenticated user.
+         * Question texts are only returned by the detail endpoint.
          *
-         * @return a response entity with a list of question set responses
+         * @param page the page number
+         * @param size the page size
+         * @return a response entity with a page of question set summaries
          */
         @GetMapping
-        public ResponseEntity<ApiResponse<List<QuestionSetResponse>>> getQuestionSetsByUser() {
+        public ResponseEntity<ApiResponse<Page<QuestionSetSummaryResponse>>> getQuestionSetsByUser(
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "20") int size) {
                 Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
                 String email = authentication.getName();
                 Long userId = questionSetService.getUserIdByEmail(email);
-                List<QuestionSet> sets = questionSetService.getQuestionSetsByUser(userId);
-
-                List<QuestionSetResponse> responses = sets.stream()
-                                .map(QuestionSetResponse::new)
-                                .collect(Collectors.toList());
+                Page<QuestionSetSummaryResponse> responses = questionSetService
+                                .getQuestionSetSummariesByUser(userId, page, size);
 
                 String message = responses.isEmpty()
                                 ? "No question sets found for this user"
@@ -93,15 +122,28 @@ public class QuestionSetController {
         }
 
         /**
-         * Retrieves a specific question set by its ID.
+         * Retrieves a specific question set by its ID. The response carries the
+         * version of the set as its ETag; a matching {@code If-None-Match} is
+         * answered with 304 without loading the questions.
          *
-         * @param id the question set ID
-         * @return a response entity with the question set response
+         * @param id         the question set ID
+         * @param webRequest the request, for its {@code If-None-Match} header
+         * @return a response entity with the question set response, or 304 if the
+         *         set has not changed since the client's copy
          */
         @GetMapping("/{id}")
-        public ResponseEntity<ApiResponse<QuestionSetResponse>> getQuestionSet(@PathVariable Long id) {
+        public ResponseEntity<ApiResponse<QuestionSetResponse>> getQuestionSet(@PathVariable Long id,
+                        WebRequest webRequest) {
+                QuestionSet header = questionSetService.getQuestionSetHeader(id);
+                String eTag = HttpCaching.eTag("question-set", id, header.getVersion());
+                CacheControl cacheControl = httpCaching.forQuestionSet(header.getStatus());
+                if (webRequest.checkNotModified(eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl)
+                                        .build();
+                }
+
                 QuestionSet qs = questionSetService.getQuestionSetById(id);
-                return ResponseEntity.ok(new ApiResponse<>(
+                return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(new ApiResponse<>(
                                 200, "Question set loaded", new QuestionSetResponse(qs), Collections.emptyList()));
         }
 
@@ -0,0 +1,43 @@
+package com.prepmentor.backend.dto;
+
+import com.prepmentor.backend.model.AnswerAttempt;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * DTO for returning one attempt of a user at a question, as part of the
+ * user's progress on it over time.
+ */
+@Getter
+@ToString
+public class AnswerAttemptResponse {
+
+    private final Long id;
+    private final String text;
+    private final String fileUrl;
+    private final String answerType;
+    private final Instant submittedAt;
+    private final Integer score;
+    private final Integer correctness;
+    private final Integer completeness;
+    private final Integer clarity;
+
+    /**
+     * Constructs an AnswerAttemptResponse from an AnswerAttempt entity.
+     *
+     * @param attempt the AnswerAttempt entity
+     */
+    public AnswerAttemptResponse(AnswerAttempt attempt) {
+        this.id = attempt.getId();
+        this.text = attempt.getText();
+        this.fileUrl = attempt.getFileUrl();
+        this.answerType = attempt.getAnswerType() != null ? attempt.getAnswerType().name() : null;
+        this.submittedAt = attempt.getSubmittedAt();
+        this.score = attempt.getScore();
+        this.correctness = attempt.getCorrectness();
+        this.completeness = attempt.getCompleteness();
+        this.clarity = attempt.getClarity();
+    }
+}
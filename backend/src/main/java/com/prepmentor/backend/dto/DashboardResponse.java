@@ -9,13 +9,17 @@ import java.util.List;
  * DTO for returning dashboard statistics and insights to the client.
  * <p>
  * This response includes user performance metrics such as average score,
- * total questions answered, and questions that need improvement.
+ * average correctness, completeness and clarity, total questions answered, and
+ * questions that need improvement.
  */
 @Getter
 @ToString
 public class DashboardResponse {
 
     private final Double averageScore;
+    private final Double averageCorrectness;
+    private final Double averageCompleteness;
+    private final Double averageClarity;
     private final Integer questionsAnsweredCount;
     private final List<LowScoreQuestion> lowScoreQuestions;
 
@@ -23,11 +27,18 @@ public class DashboardResponse {
      * Constructs a DashboardResponse with user performance data.
      *
      * @param averageScore the average score across all answered questions
+     * @param averageCorrectness the average correctness score
+     * @param averageCompleteness the average completeness score
+     * @param averageClarity the average clarity score
      * @param questionsAnsweredCount the total number of questions answered
      * @param lowScoreQuestions list of questions with low scores that need improvement
      */
-    public DashboardResponse(Double averageScore, Integer questionsAnsweredCount, List<LowScoreQuestion> lowScoreQuestions) {
+    public DashboardResponse(Double averageScore, Double averageCorrectness, Double averageCompleteness,
+            Double averageClarity, Integer questionsAnsweredCount, List<LowScoreQuestion> lowScoreQuestions) {
         this.averageScore = averageScore;
+        this.averageCorrectness = averageCorrectness;
+        this.averageCompleteness = averageCompleteness;
+        this.averageClarity = averageClarity;
         this.questionsAnsweredCount = questionsAnsweredCount;
         this.lowScoreQuestions = lowScoreQuestions;
     }
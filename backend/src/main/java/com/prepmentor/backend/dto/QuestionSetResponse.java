@@ -31,8 +31,8 @@ public class QuestionSetResponse {
     public QuestionSetResponse(QuestionSet qs) {
         this.id = qs.getId();
         this.name = qs.getName();
-        this.type = qs.getType();
-        this.difficulty = qs.getDifficulty();
+        this.type = qs.getType() == null ? null : qs.getType().getName();
+        this.difficulty = qs.getDifficulty() == null ? null : qs.getDifficulty().getName();
         this.tags = qs.getTags();
         this.status = qs.getStatus().name();
         this.questions = qs.getQuestions()
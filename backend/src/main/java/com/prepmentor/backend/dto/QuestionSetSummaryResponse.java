@@ -0,0 +1,44 @@
+package com.prepmentor.backend.dto;
+
+import com.prepmentor.backend.enums.QuestionSetStatus;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * DTO for listing question sets without their question texts.
+ */
+@Getter
+@ToString
+public class QuestionSetSummaryResponse {
+
+    private final Long id;
+    private final String name;
+    private final String type;
+    private final String difficulty;
+    private final String tags;
+    private final String status;
+    private final Long questionCount;
+
+    /**
+     * Constructs a QuestionSetSummaryResponse; used as a JPQL constructor
+     * expression.
+     *
+     * @param id            the question set ID
+     * @param name          the question set name
+     * @param type          the question set type
+     * @param difficulty    the question set difficulty
+     * @param tags          the question set tags
+     * @param status        the question set status
+     * @param questionCount the number of questions in the set
+     */
+    public QuestionSetSummaryResponse(Long id, String name, String type, String difficulty, String tags,
+            QuestionSetStatus status, Long questionCount) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.difficulty = difficulty;
+        this.tags = tags;
+        this.status = status.name();
+        this.questionCount = questionCount;
+    }
+}
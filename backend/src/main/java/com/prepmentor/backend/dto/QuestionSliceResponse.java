@@ -0,0 +1,40 @@
+package com.prepmentor.backend.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * DTO for one page of question previews in cursor (keyset) mode.
+ */
+@Getter
+@ToString
+public class QuestionSliceResponse {
+
+    private final List<QuestionPreviewResponse> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    /**
+     * Constructs a QuestionSliceResponse.
+     *
+     * @param content       the question previews of this page
+     * @param size          the requested page size
+     * @param hasNext       whether more questions follow this page
+     * @param nextCursor    the token to pass as cursor for the next page, or
+     *                      null on the last page
+     * @param totalElements the total number of matching questions, or null if
+     *                      it was not requested
+     */
+    public QuestionSliceResponse(List<QuestionPreviewResponse> content, int size, boolean hasNext,
+            String nextCursor, Long totalElements) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+}
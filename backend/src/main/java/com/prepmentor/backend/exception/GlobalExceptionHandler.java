@@ -12,8 +12,8 @@ import java.util.stream.Collectors;
 
 /**
  * Global exception handler for REST controllers.
- * Handles validation errors, not found exceptions, bad requests, and generic
- * runtime exceptions.
+ * Handles validation errors, not found exceptions, bad requests, busy service
+ * errors and generic runtime exceptions.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -64,6 +64,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    // -----------------------------
+    // Handle ServiceBusyException
+    // -----------------------------
+    /**
+     * Handles ServiceBusyException and returns a 503 response.
+     *
+     * @param ex the ServiceBusyException
+     * @return a response entity with service unavailable error details
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceBusy(ServiceBusyException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                503,
+                ex.getMessage(),
+                null,
+                List.of(ex.getMessage()));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     // -----------------------------
     // Handle all other runtime exceptions
     // -----------------------------
@@ -0,0 +1,16 @@
+package com.prepmentor.backend.exception;
+
+/**
+ * Exception thrown when the server has no capacity left for a request
+ * (HTTP 503).
+ */
+public class ServiceBusyException extends RuntimeException {
+    /**
+     * Constructs a new ServiceBusyException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
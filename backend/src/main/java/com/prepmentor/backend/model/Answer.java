@@ -5,12 +5,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.Instant;
 
 /**
- * Entity representing an answer submitted by a user for a question.
+ * Entity representing the latest answer submitted by a user for a question.
+ * Every submission is also kept as an {@link AnswerAttempt}. The answer row is
+ * not derived from the attempts: its text, file and type are a copy of the
+ * latest attempt, written with it, which the dashboard, statistics and
+ * archiving read without a join.
  * <p>
  * Fields:
  * <ul>
@@ -27,7 +33,11 @@ import java.time.Instant;
  * <li>completeness - The completeness score for the answer (e.g., out of
  * 5).</li>
  * <li>clarity - The clarity score for the answer (e.g., out of 5).</li>
- * <li>feedback - The feedback text generated by OpenAI.</li>
+ * <li>feedback - The feedback text generated by OpenAI; stored in
+ * {@link AnswerFeedback}.</li>
+ * <li>archived - Whether the text and feedback were moved to
+ * {@link AnswerArchive}.</li>
+ * <li>latestAttempt - The attempt this answer currently shows.</li>
  * </ul>
  */
 @Entity
@@ -62,13 +72,17 @@ public class Answer {
     /**
      * The question this answer is for.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Question question;
 
     /**
      * The user who submitted the answer.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     /**
@@ -98,8 +112,26 @@ public class Answer {
     private Integer clarity;
 
     /**
-     * The feedback text generated by OpenAI.
+     * The feedback text generated by OpenAI. Stored in {@link AnswerFeedback} so
+     * that the answer row stays narrow, and only filled in by the queries that
+     * need it.
      */
-    @Lob
+    @Transient
     private String feedback;
+
+    /**
+     * Whether the text and feedback of the answer were moved to
+     * {@link AnswerArchive}, leaving them null here. Cleared when the answer is
+     * re-submitted.
+     */
+    private boolean archived;
+
+    /**
+     * The attempt this answer currently shows.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "latest_attempt_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AnswerAttempt latestAttempt;
 }
@@ -0,0 +1,97 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Entity holding the archived text and feedback of an answer older than the
+ * archival horizon. The {@link Answer} row stays behind with its scores.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>answerId - The answer the content belongs to.</li>
+ * <li>submittedAt - Submission time of the archived version of the
+ * answer.</li>
+ * <li>archivedAt - Timestamp when the answer was archived.</li>
+ * <li>content - The gzip-compressed JSON form of {@link Content}.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "answer_archive")
+public class AnswerArchive implements Persistable<Long> {
+    /**
+     * The ID of the answer the content belongs to.
+     */
+    @Id
+    private Long answerId;
+
+    /**
+     * Submission time of the archived version of the answer.
+     */
+    private Instant submittedAt;
+
+    /**
+     * Timestamp when the answer was archived.
+     */
+    private Instant archivedAt;
+
+    /**
+     * The gzip-compressed JSON form of {@link Content}.
+     */
+    @Lob
+    @ToString.Exclude
+    private byte[] content;
+
+    /**
+     * Whether this row was built by the archival job and not stored yet, so that
+     * saving it inserts directly instead of first looking for a row with the
+     * same ID.
+     */
+    @Transient
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newRow = false;
+
+    @Override
+    public Long getId() {
+        return answerId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRow = false;
+    }
+
+    /**
+     * The archived columns of an answer, and the texts of its attempts by
+     * attempt ID.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Content {
+        private String text;
+        private String feedback;
+        private Map<Long, String> attempts;
+    }
+}
@@ -0,0 +1,105 @@
+package com.prepmentor.backend.model;
+
+import com.prepmentor.backend.enums.AnswerType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Entity representing one submission of an answer. Attempts are only ever
+ * inserted, except for their scores, which are filled in once the submission
+ * has been evaluated; the {@link Answer} of the user to the question points at
+ * the latest attempt.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>id - Unique identifier for the attempt.</li>
+ * <li>user - The user who submitted the attempt.</li>
+ * <li>question - The question the attempt answers.</li>
+ * <li>answerType - The type of answer (TEXT, AUDIO, VIDEO).</li>
+ * <li>text - The answer text (if applicable).</li>
+ * <li>fileUrl - URL to the uploaded answer file (if applicable).</li>
+ * <li>submittedAt - Timestamp when the attempt was submitted.</li>
+ * <li>score - The overall score for the attempt (e.g., out of 5).</li>
+ * <li>correctness - The correctness score for the attempt.</li>
+ * <li>completeness - The completeness score for the attempt.</li>
+ * <li>clarity - The clarity score for the attempt.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "answer_attempt")
+public class AnswerAttempt {
+    /**
+     * The unique identifier for the attempt.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The user who submitted the attempt.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
+
+    /**
+     * The question the attempt answers.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Question question;
+
+    /**
+     * The type of answer (TEXT, AUDIO, VIDEO).
+     */
+    @Enumerated(EnumType.STRING)
+    private AnswerType answerType;
+
+    /**
+     * The answer text (if applicable).
+     */
+    private String text;
+
+    /**
+     * URL to the uploaded answer file (audio/video, if applicable).
+     */
+    private String fileUrl;
+
+    /**
+     * Timestamp when the attempt was submitted.
+     */
+    private Instant submittedAt;
+
+    /**
+     * The overall score for the attempt (e.g., out of 5).
+     */
+    private Integer score;
+
+    /**
+     * The correctness score for the attempt (e.g., out of 5).
+     */
+    private Integer correctness;
+
+    /**
+     * The completeness score for the attempt (e.g., out of 5).
+     */
+    private Integer completeness;
+
+    /**
+     * The clarity score for the attempt (e.g., out of 5).
+     */
+    private Integer clarity;
+}
@@ -0,0 +1,47 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity holding the feedback text of an answer, kept out of the
+ * {@link Answer} row so that scans over answers stay narrow.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>answerId - The answer the feedback belongs to.</li>
+ * <li>submittedAt - Submission time of the evaluated version of the
+ * answer.</li>
+ * <li>feedback - The feedback text generated by OpenAI.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "answer_feedback")
+public class AnswerFeedback {
+    /**
+     * The ID of the answer the feedback belongs to.
+     */
+    @Id
+    private Long answerId;
+
+    /**
+     * Submission time of the evaluated version of the answer. The feedback is
+     * current only while it matches the submission time of the answer.
+     */
+    private Instant submittedAt;
+
+    /**
+     * The feedback text generated by OpenAI.
+     */
+    @Lob
+    private String feedback;
+}
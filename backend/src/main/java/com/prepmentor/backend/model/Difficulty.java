@@ -0,0 +1,49 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Lookup entity for the difficulty level of questions. Each distinct level is
+ * stored once and referenced by its integer ID.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>id - Unique identifier for the difficulty level.</li>
+ * <li>name - Unique name of the difficulty level.</li>
+ * <li>nameKey - Unique lower-case name of the difficulty level.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "difficulty")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "lookup")
+public class Difficulty {
+    /**
+     * The unique identifier for the difficulty level.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The name of the difficulty level. Must be unique.
+     */
+    @Column(nullable = false, unique = true, length = 50)
+    private String name;
+
+    /**
+     * The lower-case name, which identifies the difficulty level regardless of case.
+     * Must be unique.
+     */
+    @Column(name = "name_key", nullable = false, unique = true, length = 50)
+    private String nameKey;
+}
@@ -0,0 +1,43 @@
+package com.prepmentor.backend.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the list of recent low score entries of {@link UserStats} as a JSON
+ * array in a single column, so the dashboard stays a single-row read.
+ */
+@Converter
+public class LowScoreEntryListConverter implements AttributeConverter<List<UserStats.LowScoreEntry>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<UserStats.LowScoreEntry>> TYPE = new TypeReference<>() {
+    };
+
+    @Override
+    public String convertToDatabaseColumn(List<UserStats.LowScoreEntry> entries) {
+        try {
+            return MAPPER.writeValueAsString(entries == null ? List.of() : entries);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize low score entries", e);
+        }
+    }
+
+    @Override
+    public List<UserStats.LowScoreEntry> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not deserialize low score entries", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing the OpenAI usage reserved by all backend instances during
+ * one minute. Only written through the atomic statements of
+ * {@link com.prepmentor.backend.repository.OpenAIBudgetWindowRepository}.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>windowMinute - The minute, counted from the epoch.</li>
+ * <li>tokens - The tokens reserved, corrected to the actual usage once
+ * known.</li>
+ * <li>requests - The requests reserved.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "openai_budget_window")
+public class OpenAIBudgetWindow {
+    /**
+     * The minute, counted from the epoch.
+     */
+    @Id
+    private Long windowMinute;
+
+    /**
+     * The tokens reserved, corrected to the actual usage once known.
+     */
+    private long tokens;
+
+    /**
+     * The requests reserved.
+     */
+    private int requests;
+}
@@ -4,7 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Entity representing a question in the system.
@@ -18,6 +26,7 @@ import lombok.NoArgsConstructor;
  * <li>tags - Tags associated with the question.</li>
  * <li>questionSet - The question set this question belongs to.</li>
  * </ul>
+ * Cached in the second-level {@code question} region; see {@code ehcache.xml}.
  */
 @Entity
 @Data
@@ -25,12 +34,16 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Table(name = "question")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 public class Question {
     /**
-     * The unique identifier for the question.
+     * The unique identifier for the question. Allocated in blocks of 50 from the
+     * {@code id_generator} table so that inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "question_id")
+    @TableGenerator(name = "question_id", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "question", allocationSize = 50)
     private Long id;
 
     /**
@@ -41,21 +54,41 @@ public class Question {
     /**
      * The type/category of the question.
      */
-    private String type;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "type_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private QuestionType type;
 
     /**
      * The difficulty level of the question.
      */
-    private String difficulty;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "difficulty_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Difficulty difficulty;
 
     /**
-     * Tags associated with the question.
+     * Tags associated with the question, stored in the {@code question_tag} join
+     * table.
      */
-    private String tags;
+    @ManyToMany
+    @JoinTable(name = "question_tag",
+            joinColumns = @JoinColumn(name = "question_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"))
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question.tags")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private Set<Tag> tags = new HashSet<>();
 
     /**
      * The question set this question belongs to.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private QuestionSet questionSet;
 }
@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.util.List;
@@ -25,7 +29,11 @@ import java.util.List;
  * <li>tags - Tags associated with the set.</li>
  * <li>status - The status of the set (DRAFT, PUBLISHED).</li>
  * <li>questions - List of questions in the set.</li>
+ * <li>version - Version of the set, bumped on every update.</li>
  * </ul>
+ * Cached in the second-level {@code question_set} region. Sets are cached in
+ * every status: publishing a draft is an entity update, which refreshes the
+ * cached copy when the transaction commits.
  */
 @Entity
 @Data
@@ -33,12 +41,16 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Table(name = "question_set")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question_set")
 public class QuestionSet {
     /**
-     * The unique identifier for the question set.
+     * The unique identifier for the question set. Allocated in blocks of 50 from the
+     * {@code id_generator} table so that inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "question_set_id")
+    @TableGenerator(name = "question_set_id", table = "id_generator", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "question_set", allocationSize = 50)
     private Long id;
 
     /**
@@ -54,22 +66,33 @@ public class QuestionSet {
     /**
      * The user who created the set.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User createdBy;
 
     /**
      * The type/category of the set.
      */
-    private String type;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "type_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private QuestionType type;
 
     /**
      * The difficulty level of the set.
      */
-    private String difficulty;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "difficulty_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Difficulty difficulty;
 
     /**
-     * Tags associated with the set.
+     * Tags associated with the set, as entered by its creator. Each question of
+     * the set references the normalized {@link Tag} rows instead.
      */
     private String tags;
 
@@ -83,5 +106,15 @@ public class QuestionSet {
      * List of questions in the set.
      */
     @OneToMany(mappedBy = "questionSet", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question_set.questions")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Question> questions;
+
+    /**
+     * Version of the set, bumped on every update. Used for optimistic locking and
+     * as the ETag of the set and of its questions, which only change with it.
+     */
+    @Version
+    private Long version;
 }
@@ -0,0 +1,62 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * Entity representing one posting of the question search index: a term that
+ * occurs in a published question's text or tags, with its weight.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>id - The term and the question it occurs in.</li>
+ * <li>weight - How strongly the term describes the question.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "question_term")
+public class QuestionTerm implements Persistable<QuestionTerm.Key> {
+    /**
+     * The term and the question it occurs in.
+     */
+    @EmbeddedId
+    private Key id;
+
+    /**
+     * How strongly the term describes the question.
+     */
+    private int weight;
+
+    /**
+     * Postings are only ever inserted (a question is re-indexed by deleting its
+     * postings first), so saving never needs to check for an existing row.
+     *
+     * @return always true
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    /**
+     * Composite key of a posting.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String term;
+
+        @Column(name = "question_id")
+        private Long questionId;
+    }
+}
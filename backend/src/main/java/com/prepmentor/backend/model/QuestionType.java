@@ -0,0 +1,49 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Lookup entity for the type/category of questions, such as Java or System
+ * Design. Each distinct type is stored once and referenced by its integer ID.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>id - Unique identifier for the question type.</li>
+ * <li>name - Unique name of the question type.</li>
+ * <li>nameKey - Unique lower-case name of the question type.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "question_type")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "lookup")
+public class QuestionType {
+    /**
+     * The unique identifier for the question type.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The name of the question type. Must be unique.
+     */
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    /**
+     * The lower-case name, which identifies the question type regardless of case.
+     * Must be unique.
+     */
+    @Column(name = "name_key", nullable = false, unique = true, length = 100)
+    private String nameKey;
+}
@@ -0,0 +1,41 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Lookup entity for a tag attached to questions. Tag names are stored in lower
+ * case, once each, and referenced by their integer ID.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>id - Unique identifier for the tag.</li>
+ * <li>name - Unique name of the tag.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "tag")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "lookup")
+public class Tag {
+    /**
+     * The unique identifier for the tag.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The name of the tag. Must be unique.
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String name;
+}
@@ -0,0 +1,121 @@
+package com.prepmentor.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity holding the running dashboard figures for a user, maintained
+ * incrementally whenever one of the user's answers is scored or re-scored.
+ * <p>
+ * Fields:
+ * <ul>
+ * <li>userId - The user the statistics belong to.</li>
+ * <li>scoredCount - Number of scored answers.</li>
+ * <li>scoreTotal - Sum of the overall scores.</li>
+ * <li>correctnessTotal - Sum of the correctness scores.</li>
+ * <li>completenessTotal - Sum of the completeness scores.</li>
+ * <li>clarityTotal - Sum of the clarity scores.</li>
+ * <li>recentLowScores - The most recent low score answers, newest
+ * first.</li>
+ * </ul>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "user_stats")
+public class UserStats implements Persistable<Long> {
+    /**
+     * Scored count of a placeholder row that has been inserted but not filled in
+     * from the answers yet; never visible outside the inserting transaction.
+     */
+    public static final long NOT_BUILT = -1;
+
+    /**
+     * The ID of the user the statistics belong to.
+     */
+    @Id
+    private Long userId;
+
+    /**
+     * Number of scored answers.
+     */
+    private long scoredCount;
+
+    /**
+     * Sum of the overall scores.
+     */
+    private long scoreTotal;
+
+    /**
+     * Sum of the correctness scores.
+     */
+    private long correctnessTotal;
+
+    /**
+     * Sum of the completeness scores.
+     */
+    private long completenessTotal;
+
+    /**
+     * Sum of the clarity scores.
+     */
+    private long clarityTotal;
+
+    /**
+     * The most recent low score answers, newest first, stored as JSON.
+     */
+    @Convert(converter = LowScoreEntryListConverter.class)
+    @Column(length = 4000)
+    @Builder.Default
+    private List<LowScoreEntry> recentLowScores = new ArrayList<>();
+
+    /**
+     * Whether this row was built in memory and not stored yet, so that saving it
+     * inserts directly instead of first looking for a row with the same ID.
+     */
+    @Transient
+    @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newRow = false;
+
+    @Override
+    public Long getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRow = false;
+    }
+
+    /**
+     * A low score answer kept in {@link #recentLowScores}.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LowScoreEntry {
+        private Long questionId;
+        private String questionText;
+        private Integer score;
+        private String submittedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.prepmentor.backend.projection;
+
+/**
+ * Projection of a question's text together with the current answer of a user
+ * to it, if any, as needed to submit a new answer.
+ */
+public interface AnswerSubmissionContext {
+    String getQuestionText();
+
+    Long getAnswerId();
+
+    Integer getScore();
+
+    Integer getCorrectness();
+
+    Integer getCompleteness();
+
+    Integer getClarity();
+}
@@ -0,0 +1,13 @@
+package com.prepmentor.backend.projection;
+
+import com.prepmentor.backend.model.Answer;
+
+/**
+ * Projection of an answer together with the feedback on its current
+ * submission, if any.
+ */
+public interface AnswerWithFeedback {
+    Answer getAnswer();
+
+    String getFeedback();
+}
@@ -0,0 +1,12 @@
+package com.prepmentor.backend.projection;
+
+/**
+ * Projection of the text of an attempt, with the answer it belongs to.
+ */
+public interface AttemptText {
+    Long getAnswerId();
+
+    Long getAttemptId();
+
+    String getText();
+}
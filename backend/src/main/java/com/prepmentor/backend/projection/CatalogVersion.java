@@ -0,0 +1,22 @@
+package com.prepmentor.backend.projection;
+
+/**
+ * Projection of the figures that change whenever a question set is created,
+ * updated or deleted, used to validate cached question lists.
+ */
+public interface CatalogVersion {
+    /**
+     * @return the number of question sets
+     */
+    Long getSetCount();
+
+    /**
+     * @return the highest question set ID, or null if there are no sets
+     */
+    Long getMaxSetId();
+
+    /**
+     * @return the sum of the question set versions, or null if there are no sets
+     */
+    Long getVersionSum();
+}
@@ -0,0 +1,17 @@
+package com.prepmentor.backend.projection;
+
+import java.time.Instant;
+
+/**
+ * Projection of a low-scoring answer together with its question text, as shown
+ * on the dashboard.
+ */
+public interface LowScoreAnswerView {
+    Long getQuestionId();
+
+    String getQuestionText();
+
+    Integer getScore();
+
+    Instant getSubmittedAt();
+}
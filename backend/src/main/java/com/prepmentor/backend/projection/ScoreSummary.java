@@ -0,0 +1,32 @@
+package com.prepmentor.backend.projection;
+
+/**
+ * Projection of the aggregate score figures for a user's scored answers. A
+ * dimension score the model did not report contributes 0 to its total.
+ */
+public interface ScoreSummary {
+    /**
+     * @return the number of scored answers
+     */
+    Long getAnsweredCount();
+
+    /**
+     * @return the sum of the overall scores, or null if nothing has been scored
+     */
+    Long getScoreTotal();
+
+    /**
+     * @return the sum of the correctness scores, or null if nothing has been scored
+     */
+    Long getCorrectnessTotal();
+
+    /**
+     * @return the sum of the completeness scores, or null if nothing has been scored
+     */
+    Long getCompletenessTotal();
+
+    /**
+     * @return the sum of the clarity scores, or null if nothing has been scored
+     */
+    Long getClarityTotal();
+}
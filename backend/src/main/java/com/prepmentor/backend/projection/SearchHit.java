@@ -0,0 +1,10 @@
+package com.prepmentor.backend.projection;
+
+/**
+ * Projection of a question matched by a keyword search, with its relevance.
+ */
+public interface SearchHit {
+    Long getQuestionId();
+
+    Long getScore();
+}
@@ -0,0 +1,11 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.AnswerArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for managing AnswerArchive entities.
+ * Extends JpaRepository to provide CRUD operations.
+ */
+public interface AnswerArchiveRepository extends JpaRepository<AnswerArchive, Long> {
+}
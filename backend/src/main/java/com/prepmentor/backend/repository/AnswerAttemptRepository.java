@@ -0,0 +1,70 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.AnswerAttempt;
+import com.prepmentor.backend.projection.AttemptText;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing AnswerAttempt entities.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ */
+public interface AnswerAttemptRepository extends JpaRepository<AnswerAttempt, Long> {
+
+    /**
+     * Finds a page of the attempts of a user at a question, oldest first.
+     *
+     * @param userId     the ID of the user
+     * @param questionId the ID of the question
+     * @param pageable   the page to return
+     * @return the attempts in submission order
+     */
+    List<AnswerAttempt> findByUser_IdAndQuestion_IdOrderBySubmittedAtAscIdAsc(Long userId, Long questionId,
+            Pageable pageable);
+
+    /**
+     * Finds the attempts of the given answers that still hold their text.
+     *
+     * @param answerIds the IDs of the answers
+     * @return the attempt texts with their answer IDs
+     */
+    @Query("select a.id as answerId, t.id as attemptId, t.text as text "
+            + "from AnswerAttempt t join Answer a on a.user.id = t.user.id and a.question.id = t.question.id "
+            + "where a.id in :answerIds and t.text is not null")
+    List<AttemptText> findTextsByAnswerIds(@Param("answerIds") Collection<Long> answerIds);
+
+    /**
+     * Removes the text of archived attempts.
+     *
+     * @param ids the IDs of the attempts
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update AnswerAttempt t set t.text = null where t.id in :ids")
+    int clearTexts(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stores the scores of an evaluated attempt.
+     *
+     * @param id           the ID of the attempt
+     * @param score        the overall score
+     * @param correctness  the correctness score
+     * @param completeness the completeness score
+     * @param clarity      the clarity score
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update AnswerAttempt t set t.score = :score, t.correctness = :correctness, "
+            + "t.completeness = :completeness, t.clarity = :clarity where t.id = :id")
+    int applyScores(@Param("id") Long id,
+            @Param("score") Integer score,
+            @Param("correctness") Integer correctness,
+            @Param("completeness") Integer completeness,
+            @Param("clarity") Integer clarity);
+}
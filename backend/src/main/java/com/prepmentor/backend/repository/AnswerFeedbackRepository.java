@@ -0,0 +1,38 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.AnswerFeedback;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for managing AnswerFeedback entities.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ */
+public interface AnswerFeedbackRepository extends JpaRepository<AnswerFeedback, Long> {
+
+    /**
+     * Stores the feedback of a submission, replacing the feedback of any earlier
+     * submission of the same answer, in a single statement keyed by the answer
+     * ID.
+     *
+     * @param answerId    the ID of the answer
+     * @param submittedAt the submission time of the evaluated answer
+     * @param feedback    the feedback text
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "answer_feedback"))
+    @Query(value = "insert into answer_feedback (answer_id, submitted_at, feedback) "
+            + "values (:answerId, :submittedAt, :feedback) "
+            + "on duplicate key update submitted_at = :submittedAt, feedback = :feedback",
+            nativeQuery = true)
+    void upsertFeedback(@Param("answerId") Long answerId,
+            @Param("submittedAt") Instant submittedAt,
+            @Param("feedback") String feedback);
+}
@@ -1,8 +1,23 @@
 package com.prepmentor.backend.repository;
 
 import com.prepmentor.backend.model.Answer;
+import com.prepmentor.backend.projection.AnswerSubmissionContext;
+import com.prepmentor.backend.projection.AnswerWithFeedback;
+import com.prepmentor.backend.projection.LowScoreAnswerView;
+import com.prepmentor.backend.projection.ScoreSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,21 +26,160 @@ import java.util.Optional;
  * Extends JpaRepository to provide CRUD operations and custom queries.
  */
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
-    
+
     /**
-     * Finds an answer by user ID and question ID.
+     * Loads the text of a question together with the ID and scores of the
+     * user's current answer to it, in one query.
      *
-     * @param userId the ID of the user
      * @param questionId the ID of the question
-     * @return an Optional containing the answer if found, empty otherwise
+     * @param userId     the ID of the user
+     * @return the submission context; the answer fields are null if the user has
+     *         not answered yet, and the Optional is empty if the question does
+     *         not exist
      */
-    Optional<Answer> findByUser_IdAndQuestion_Id(Long userId, Long questionId);
+    @Query("select q.text as questionText, a.id as answerId, a.score as score, "
+            + "a.correctness as correctness, a.completeness as completeness, a.clarity as clarity "
+            + "from Question q left join Answer a on a.question.id = q.id and a.user.id = :userId "
+            + "where q.id = :questionId")
+    Optional<AnswerSubmissionContext> findSubmissionContext(@Param("questionId") Long questionId,
+            @Param("userId") Long userId);
+
+    /**
+     * Loads an answer and locks its row for the rest of the transaction.
+     *
+     * @param id the answer ID
+     * @return an Optional containing the locked answer, or empty if it no longer
+     *         exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Answer a where a.id = :id")
+    Optional<Answer> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Inserts the answer of a user to a question, or replaces the submission and
+     * clears the scores and archived flag of the existing one, in a single statement
+     * keyed by the unique (user_id, question_id) index. The answer then points at
+     * the given attempt. The update reuses the parameters rather than
+     * {@code VALUES(col)}, which MySQL 8.0.20+ deprecates. Declared to touch only the
+     * {@code answer} table, so that it does not evict the second-level cache.
+     *
+     * @param userId      the ID of the user
+     * @param questionId  the ID of the question
+     * @param attemptId   the ID of the attempt being submitted
+     * @param text        the answer text
+     * @param fileUrl     the URL of the uploaded answer file
+     * @param answerType  the answer type name
+     * @param submittedAt the submission time
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "answer"))
+    @Query(value = "insert into answer "
+            + "(user_id, question_id, latest_attempt_id, text, file_url, answer_type, submitted_at) "
+            + "values (:userId, :questionId, :attemptId, :text, :fileUrl, :answerType, :submittedAt) "
+            + "on duplicate key update latest_attempt_id = :attemptId, "
+            + "text = :text, file_url = :fileUrl, "
+            + "answer_type = :answerType, submitted_at = :submittedAt, "
+            + "score = null, correctness = null, completeness = null, clarity = null, archived = false",
+            nativeQuery = true)
+    void upsertSubmission(@Param("userId") Long userId,
+            @Param("questionId") Long questionId,
+            @Param("attemptId") Long attemptId,
+            @Param("text") String text,
+            @Param("fileUrl") String fileUrl,
+            @Param("answerType") String answerType,
+            @Param("submittedAt") Instant submittedAt);
+
+    /**
+     * Loads the oldest answers submitted before a cutoff that are not archived
+     * yet, and locks their rows for the rest of the transaction so that a
+     * concurrent re-submission waits for the archival to commit.
+     *
+     * @param cutoff the submission time before which answers are archived
+     * @param limit  the maximum number of answers to return
+     * @return the locked answers, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Answer a where a.archived = false and a.submittedAt < :cutoff order by a.submittedAt")
+    List<Answer> findArchivable(@Param("cutoff") Instant cutoff, Limit limit);
+
+    /**
+     * Finds the ID of the answer of a user to a question.
+     *
+     * @param userId     the ID of the user
+     * @param questionId the ID of the question
+     * @return an Optional containing the answer ID if found, empty otherwise
+     */
+    @Query("select a.id from Answer a where a.user.id = :userId and a.question.id = :questionId")
+    Optional<Long> findIdByUserIdAndQuestionId(@Param("userId") Long userId, @Param("questionId") Long questionId);
+
+    /**
+     * Stores the scores of a submission, unless the user has
+     * submitted a newer answer to the question in the meantime.
+     *
+     * @param userId       the ID of the user
+     * @param questionId   the ID of the question
+     * @param submittedAt  the submission time of the evaluated answer
+     * @param score        the overall score
+     * @param correctness  the correctness score
+     * @param completeness the completeness score
+     * @param clarity      the clarity score
+     * @return the number of updated rows: 1, or 0 if the submission was
+     *         superseded
+     */
+    @Modifying
+    @Query("update Answer a set a.score = :score, a.correctness = :correctness, "
+            + "a.completeness = :completeness, a.clarity = :clarity "
+            + "where a.user.id = :userId and a.question.id = :questionId and a.submittedAt = :submittedAt")
+    int applyFeedback(@Param("userId") Long userId,
+            @Param("questionId") Long questionId,
+            @Param("submittedAt") Instant submittedAt,
+            @Param("score") Integer score,
+            @Param("correctness") Integer correctness,
+            @Param("completeness") Integer completeness,
+            @Param("clarity") Integer clarity);
+
+    /**
+     * Finds an answer by user ID and question ID, fetching its question and the
+     * feedback on its current submission in the same query for rendering.
+     *
+     * @param userId     the ID of the user
+     * @param questionId the ID of the question
+     * @return an Optional containing the answer and its feedback if found, empty
+     *         otherwise
+     */
+    @Query("select a as answer, f.feedback as feedback from Answer a join fetch a.question "
+            + "left join AnswerFeedback f on f.answerId = a.id and f.submittedAt = a.submittedAt "
+            + "where a.user.id = :userId and a.question.id = :questionId")
+    Optional<AnswerWithFeedback> findWithQuestionAndFeedback(@Param("userId") Long userId,
+            @Param("questionId") Long questionId);
     
     /**
-     * Finds all answers for a user that have scores (feedback has been generated).
+     * Computes the number of scored answers for a user and the totals of each
+     * score dimension in a single aggregate query.
      *
      * @param userId the ID of the user
-     * @return a list of answers with scores
+     * @return the score summary; the totals are null if nothing has been scored
+     */
+    @Query("select count(a) as answeredCount, sum(a.score) as scoreTotal, "
+            + "sum(coalesce(a.correctness, 0)) as correctnessTotal, "
+            + "sum(coalesce(a.completeness, 0)) as completenessTotal, "
+            + "sum(coalesce(a.clarity, 0)) as clarityTotal "
+            + "from Answer a where a.user.id = :userId and a.score is not null")
+    ScoreSummary summarizeScoresByUserId(@Param("userId") Long userId);
+
+    /**
+     * Finds the most recent answers for a user scoring at or below a threshold.
+     *
+     * @param userId   the ID of the user
+     * @param maxScore the highest score still considered low
+     * @param pageable limits the number of rows returned
+     * @return the low-score answers, most recent first
      */
-    List<Answer> findByUserIdAndScoreIsNotNull(Long userId);
+    @Query("select q.id as questionId, q.text as questionText, a.score as score, a.submittedAt as submittedAt "
+            + "from Answer a join a.question q "
+            + "where a.user.id = :userId and a.score <= :maxScore "
+            + "order by a.submittedAt desc")
+    List<LowScoreAnswerView> findRecentLowScores(@Param("userId") Long userId,
+            @Param("maxScore") int maxScore,
+            Pageable pageable);
 }
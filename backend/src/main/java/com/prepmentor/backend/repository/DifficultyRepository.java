@@ -0,0 +1,40 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.Difficulty;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing Difficulty lookup entities.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ */
+public interface DifficultyRepository extends JpaRepository<Difficulty, Integer> {
+    /**
+     * Finds a difficulty level by its lower-case name key.
+     *
+     * @param nameKey the lower-case name
+     * @return an Optional containing the difficulty level, or empty if none exists
+     */
+    Optional<Difficulty> findByNameKey(String nameKey);
+
+    /**
+     * Inserts a difficulty level unless one with the same name key already exists. Safe to
+     * call concurrently for the same name. Only invalidates cached queries over the
+     * {@code difficulty} table.
+     *
+     * @param name    the name
+     * @param nameKey the lower-case name
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "difficulty"))
+    @Query(value = "insert into difficulty (name, name_key) values (:name, :nameKey) "
+            + "on duplicate key update id = id", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name, @Param("nameKey") String nameKey);
+}
@@ -0,0 +1,84 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.OpenAIBudgetWindow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for managing OpenAIBudgetWindow entities.
+ * Every write is a single atomic statement, so instances sharing the database
+ * never over-commit the budget of a window.
+ */
+public interface OpenAIBudgetWindowRepository extends JpaRepository<OpenAIBudgetWindow, Long> {
+
+    /**
+     * Creates the empty row of a window, unless another instance already did.
+     *
+     * @param windowMinute the window
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "openai_budget_window"))
+    @Query(value = "insert into openai_budget_window (window_minute, tokens, requests) values (:windowMinute, 0, 0) "
+            + "on duplicate key update window_minute = window_minute", nativeQuery = true)
+    void insertIfAbsent(@Param("windowMinute") long windowMinute);
+
+    /**
+     * Reserves tokens and one request in a window if both stay within their
+     * limits.
+     *
+     * @param windowMinute the window
+     * @param tokens       the tokens to reserve
+     * @param maxTokens    the tokens allowed per window
+     * @param maxRequests  the requests allowed per window
+     * @return 1 if reserved, 0 if the window is full or has no row yet
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "openai_budget_window"))
+    @Query(value = "update openai_budget_window set tokens = tokens + :tokens, requests = requests + 1 "
+            + "where window_minute = :windowMinute and tokens + :tokens <= :maxTokens and requests < :maxRequests",
+            nativeQuery = true)
+    int reserve(@Param("windowMinute") long windowMinute,
+            @Param("tokens") long tokens,
+            @Param("maxTokens") long maxTokens,
+            @Param("maxRequests") int maxRequests);
+
+    /**
+     * Corrects the tokens of a window once the actual usage of a call is known.
+     *
+     * @param windowMinute the window
+     * @param delta        the actual minus the reserved tokens
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "openai_budget_window"))
+    @Query(value = "update openai_budget_window set tokens = greatest(tokens + :delta, 0) "
+            + "where window_minute = :windowMinute", nativeQuery = true)
+    void adjustTokens(@Param("windowMinute") long windowMinute, @Param("delta") long delta);
+
+    /**
+     * Returns the tokens and the request of a failed call to its window.
+     *
+     * @param windowMinute the window
+     * @param tokens       the tokens reserved for the call
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "openai_budget_window"))
+    @Query(value = "update openai_budget_window set tokens = greatest(tokens - :tokens, 0), "
+            + "requests = greatest(requests - 1, 0) where window_minute = :windowMinute", nativeQuery = true)
+    void release(@Param("windowMinute") long windowMinute, @Param("tokens") long tokens);
+
+    /**
+     * Deletes the windows before a given one.
+     *
+     * @param windowMinute the oldest window to keep
+     * @return the number of deleted windows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "openai_budget_window"))
+    @Query(value = "delete from openai_budget_window where window_minute < :windowMinute", nativeQuery = true)
+    int deleteBefore(@Param("windowMinute") long windowMinute);
+}
@@ -1,10 +1,18 @@
 package com.prepmentor.backend.repository;
 
+import com.prepmentor.backend.dto.QuestionPreviewResponse;
 import com.prepmentor.backend.model.Question;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,24 +22,108 @@ import java.util.List;
 public interface QuestionRepository extends JpaRepository<Question, Long> {
 
     /**
-     * Finds questions by type and difficulty, case-insensitive, with pagination.
+     * Select clause shared by the preview queries. Type and difficulty names come
+     * from their lookup tables, joined on the foreign keys of the question so
+     * that the filters below compare those keys; the tag names are aggregated
+     * per question from the {@code question_tag} join table.
+     */
+    String PREVIEW_SELECT = "select new com.prepmentor.backend.dto.QuestionPreviewResponse("
+            + "q.id, q.text, ty.name, d.name, "
+            + "(select listagg(t.name, ' ') within group (order by t.name) from q.tags t)) "
+            + "from Question q left join QuestionType ty on ty.id = q.type.id "
+            + "left join Difficulty d on d.id = q.difficulty.id ";
+
+    /**
+     * Filters on the lookup IDs shared by the preview queries; a null ID does not
+     * filter. The tag is matched by an uncorrelated subquery, so that an active
+     * filter is answered from the type/difficulty and tag indexes.
+     */
+    String FILTER_WHERE = "(:typeId is null or q.type.id = :typeId) "
+            + "and (:difficultyId is null or q.difficulty.id = :difficultyId) "
+            + "and (:tagId is null or q.id in (select fq.id from Question fq join fq.tags ft where ft.id = :tagId)) ";
+
+    /**
+     * Finds question previews by type, difficulty and tag, with pagination.
      *
-     * @param type       the type filter
-     * @param difficulty the difficulty filter
-     * @param pageable   the pagination information
-     * @return a page of questions matching the filters
-     */
-    Page<Question> findByTypeContainingIgnoreCaseAndDifficultyContainingIgnoreCase(
-            String type,
-            String difficulty,
+     * @param typeId       the type ID, or null for any
+     * @param difficultyId the difficulty ID, or null for any
+     * @param tagId        the tag ID, or null for any
+     * @param pageable     the pagination information
+     * @return a page of question previews matching the filters
+     */
+    @Query(value = PREVIEW_SELECT + "where " + FILTER_WHERE,
+            countQuery = "select count(q) from Question q where " + FILTER_WHERE)
+    Page<QuestionPreviewResponse> findPreviews(
+            @Param("typeId") Integer typeId,
+            @Param("difficultyId") Integer difficultyId,
+            @Param("tagId") Integer tagId,
             Pageable pageable);
 
     /**
-     * Finds all questions belonging to a specific question set.
+     * Finds the question previews following a given question ID, in ID order.
+     * Seeks on the primary key, so every page costs the same regardless of how
+     * far the client has scrolled.
+     *
+     * @param typeId       the type ID, or null for any
+     * @param difficultyId the difficulty ID, or null for any
+     * @param tagId        the tag ID, or null for any
+     * @param afterId      the ID of the last question already returned, or 0 to
+     *                     start from the beginning
+     * @param limit        the maximum number of previews to return
+     * @return the question previews after the given ID
+     */
+    @Query(PREVIEW_SELECT + "where q.id > :afterId and " + FILTER_WHERE + "order by q.id")
+    List<QuestionPreviewResponse> findPreviewsAfterId(
+            @Param("typeId") Integer typeId,
+            @Param("difficultyId") Integer difficultyId,
+            @Param("tagId") Integer tagId,
+            @Param("afterId") long afterId,
+            Limit limit);
+
+    /**
+     * Counts the questions matching the filters of {@link #findPreviews}.
+     *
+     * @param typeId       the type ID, or null for any
+     * @param difficultyId the difficulty ID, or null for any
+     * @param tagId        the tag ID, or null for any
+     * @return the number of matching questions
+     */
+    @Query("select count(q) from Question q where " + FILTER_WHERE)
+    long countPreviews(@Param("typeId") Integer typeId,
+            @Param("difficultyId") Integer difficultyId,
+            @Param("tagId") Integer tagId);
+
+    /**
+     * Finds all questions belonging to a specific question set. Filters on the
+     * foreign key without joining the set, so the result stays in the query
+     * cache until the question table itself changes.
      *
      * @param questionSetId the ID of the question set
      * @return a list of questions in the set
      */
-    List<Question> findByQuestionSetId(Long questionSetId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select q from Question q where q.questionSet.id = :questionSetId")
+    List<Question> findByQuestionSetId(@Param("questionSetId") Long questionSetId);
+
+    /**
+     * Finds the previews of all questions belonging to a specific question set.
+     * The result is kept in the query cache until one of the tables it reads
+     * changes.
+     *
+     * @param questionSetId the ID of the question set
+     * @return a list of question previews in the set, in creation order
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(PREVIEW_SELECT + "where q.questionSet.id = :questionSetId order by q.id")
+    List<QuestionPreviewResponse> findPreviewsByQuestionSetId(@Param("questionSetId") Long questionSetId);
+
+    /**
+     * Finds the previews of the questions with the given IDs.
+     *
+     * @param ids the question IDs
+     * @return a list of question previews, in no particular order
+     */
+    @Query(PREVIEW_SELECT + "where q.id in :ids")
+    List<QuestionPreviewResponse> findPreviewsByIdIn(@Param("ids") Collection<Long> ids);
 
 }
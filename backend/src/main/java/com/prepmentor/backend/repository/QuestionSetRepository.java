@@ -1,9 +1,19 @@
 package com.prepmentor.backend.repository;
 
+import com.prepmentor.backend.dto.QuestionSetSummaryResponse;
 import com.prepmentor.backend.model.QuestionSet;
+import com.prepmentor.backend.projection.CatalogVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing QuestionSet entities.
@@ -11,11 +21,43 @@ import java.util.List;
  */
 public interface QuestionSetRepository extends JpaRepository<QuestionSet, Long> {
     /**
-     * Finds all question sets created by a specific user.
+     * Finds summaries of the question sets created by a specific user, with the
+     * number of questions in each set computed by a single grouped query.
      *
-     * @param userId the user ID
-     * @return a list of question sets created by the user
+     * @param userId   the user ID
+     * @param pageable the pagination and sort information
+     * @return a page of question set summaries
      */
-    List<QuestionSet> findByCreatedById(Long userId);
+    @Query(value = "select new com.prepmentor.backend.dto.QuestionSetSummaryResponse("
+            + "qs.id, qs.name, ty.name, d.name, qs.tags, qs.status, count(q)) "
+            + "from QuestionSet qs left join qs.type ty left join qs.difficulty d left join qs.questions q "
+            + "where qs.createdBy.id = :userId "
+            + "group by qs.id, qs.name, ty.name, d.name, qs.tags, qs.status, qs.createdAt",
+            countQuery = "select count(qs) from QuestionSet qs where qs.createdBy.id = :userId")
+    Page<QuestionSetSummaryResponse> findSummariesByCreatedById(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Finds a question set by its ID, fetching its questions, type and
+     * difficulty in the same query (single left join fetch). The result is kept
+     * in the query cache; the entities themselves come from the second-level
+     * cache on a hit.
+     *
+     * @param id the question set ID
+     * @return an Optional containing the question set if found, empty otherwise
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(attributePaths = { "questions", "type", "difficulty" })
+    Optional<QuestionSet> findWithQuestionsById(Long id);
+
+    /**
+     * Computes the version of the whole question catalog. Kept in the query cache,
+     * which any write to the question_set table invalidates.
+     *
+     * @return the catalog version figures
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select count(qs) as setCount, max(qs.id) as maxSetId, sum(qs.version) as versionSum "
+            + "from QuestionSet qs")
+    CatalogVersion findCatalogVersion();
 
 }
@@ -0,0 +1,50 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.QuestionTerm;
+import com.prepmentor.backend.projection.SearchHit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing the postings of the question search index.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ */
+public interface QuestionTermRepository extends JpaRepository<QuestionTerm, QuestionTerm.Key> {
+
+    /**
+     * Deletes all postings of the given questions.
+     *
+     * @param questionIds the IDs of the questions
+     */
+    @Modifying
+    @Query("delete from QuestionTerm t where t.id.questionId in :questionIds")
+    void deleteByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+
+    /**
+     * Ranks the questions containing any of the given terms by the summed weight
+     * of the matching terms, optionally restricted to a type and difficulty.
+     *
+     * @param terms        the normalized search terms
+     * @param typeId       the type ID to match, or null for any
+     * @param difficultyId the difficulty ID to match, or null for any
+     * @param pageable     limits the number of hits returned
+     * @return the matching question IDs, most relevant first
+     */
+    @Query("select t.id.questionId as questionId, sum(t.weight) as score "
+            + "from QuestionTerm t join Question q on q.id = t.id.questionId "
+            + "where t.id.term in :terms "
+            + "and (:typeId is null or q.type.id = :typeId) "
+            + "and (:difficultyId is null or q.difficulty.id = :difficultyId) "
+            + "group by t.id.questionId "
+            + "order by score desc, t.id.questionId")
+    List<SearchHit> search(@Param("terms") Collection<String> terms,
+            @Param("typeId") Integer typeId,
+            @Param("difficultyId") Integer difficultyId,
+            Pageable pageable);
+}
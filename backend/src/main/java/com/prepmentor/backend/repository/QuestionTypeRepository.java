@@ -0,0 +1,40 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.QuestionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing QuestionType lookup entities.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ */
+public interface QuestionTypeRepository extends JpaRepository<QuestionType, Integer> {
+    /**
+     * Finds a question type by its lower-case name key.
+     *
+     * @param nameKey the lower-case name
+     * @return an Optional containing the question type, or empty if none exists
+     */
+    Optional<QuestionType> findByNameKey(String nameKey);
+
+    /**
+     * Inserts a question type unless one with the same name key already exists. Safe to
+     * call concurrently for the same name. Only invalidates cached queries over the
+     * {@code question_type} table.
+     *
+     * @param name    the name
+     * @param nameKey the lower-case name
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "question_type"))
+    @Query(value = "insert into question_type (name, name_key) values (:name, :nameKey) "
+            + "on duplicate key update id = id", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name, @Param("nameKey") String nameKey);
+}
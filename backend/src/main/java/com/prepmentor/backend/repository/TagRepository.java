@@ -0,0 +1,48 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing Tag lookup entities.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ */
+public interface TagRepository extends JpaRepository<Tag, Integer> {
+    /**
+     * Finds a tag by its (lower-case) name.
+     *
+     * @param name the tag name
+     * @return an Optional containing the tag if found, empty otherwise
+     */
+    Optional<Tag> findByName(String name);
+
+    /**
+     * Finds the tags with the given (lower-case) names.
+     *
+     * @param names the tag names
+     * @return the existing tags among the names
+     */
+    List<Tag> findByNameIn(Collection<String> names);
+
+    /**
+     * Inserts a tag unless one with the same name already exists. Safe to call
+     * concurrently for the same name. Only invalidates cached queries over the
+     * {@code tag} table.
+     *
+     * @param name the tag name
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag"))
+    @Query(value = "insert into tag (name) values (:name) on duplicate key update id = id", nativeQuery = true)
+    void insertIfAbsent(@Param("name") String name);
+}
@@ -2,6 +2,8 @@ package com.prepmentor.backend.repository;
 
 import com.prepmentor.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -17,4 +19,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an Optional containing the user if found, or empty if not
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Finds the ID of a user by their email address without loading the entity.
+     *
+     * @param email the user's email address
+     * @return an Optional containing the user ID if found, or empty if not
+     */
+    @Query("select u.id from User u where u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 }
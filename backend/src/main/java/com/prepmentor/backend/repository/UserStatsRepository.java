@@ -0,0 +1,48 @@
+package com.prepmentor.backend.repository;
+
+import com.prepmentor.backend.model.UserStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing UserStats entities.
+ * Extends JpaRepository to provide CRUD operations and custom queries.
+ */
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+    /**
+     * Creates a placeholder row for a user, with a scored count of
+     * {@link UserStats#NOT_BUILT}, unless the user already has one. A concurrent
+     * caller for the same user waits on the new row until this transaction ends,
+     * instead of inserting a second one.
+     *
+     * @param userId the ID of the user
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_stats"))
+    @Query(value = "insert into user_stats (user_id, scored_count, score_total, correctness_total, "
+            + "completeness_total, clarity_total, recent_low_scores) "
+            + "values (:userId, " + UserStats.NOT_BUILT + ", 0, 0, 0, 0, '[]') "
+            + "on duplicate key update user_id = user_id", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId);
+
+    /**
+     * Loads the statistics of a user and locks the row for the rest of the
+     * transaction, so concurrent score updates are applied one after another.
+     *
+     * @param userId the ID of the user
+     * @return an Optional containing the locked statistics, or empty if none
+     *         exist yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserStats s where s.userId = :userId")
+    Optional<UserStats> findByUserIdForUpdate(@Param("userId") Long userId);
+}
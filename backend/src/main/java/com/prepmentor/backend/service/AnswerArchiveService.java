@@ -0,0 +1,235 @@
+package com.prepmentor.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prepmentor.backend.model.Answer;
+import com.prepmentor.backend.model.AnswerArchive;
+import com.prepmentor.backend.model.AnswerAttempt;
+import com.prepmentor.backend.model.AnswerFeedback;
+import com.prepmentor.backend.projection.AttemptText;
+import com.prepmentor.backend.repository.AnswerArchiveRepository;
+import com.prepmentor.backend.repository.AnswerAttemptRepository;
+import com.prepmentor.backend.repository.AnswerFeedbackRepository;
+import com.prepmentor.backend.repository.AnswerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service moving the text and feedback of old answers out of the answer table.
+ * <p>
+ * A scheduled job archives answers submitted before the configured horizon in
+ * batches: their text and feedback are stored gzip-compressed in
+ * {@code answer_archive} and removed from the answer and {@code answer_feedback}
+ * tables, together with the texts of the earlier attempts of the same user at
+ * the same question, which are cleared in {@code answer_attempt}. The answer and
+ * attempt rows keep their scores and timestamps as a thin summary, so the
+ * dashboard, statistics and progress history are unaffected. Re-submitting an
+ * archived answer makes it hot again; the attempt texts archived until then stay
+ * in its archive row and are carried over when it is archived again.
+ */
+@Slf4j
+@Service
+public class AnswerArchiveService {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private AnswerArchiveRepository answerArchiveRepository;
+
+    @Autowired
+    private AnswerFeedbackRepository answerFeedbackRepository;
+
+    @Autowired
+    private AnswerAttemptRepository answerAttemptRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${answer.archive.after:180d}")
+    private Duration archiveAfter;
+
+    @Value("${answer.archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Archives the answers submitted before the configured horizon.
+     */
+    @Scheduled(cron = "${answer.archive.cron:0 30 3 * * *}")
+    public void archiveColdAnswers() {
+        int archived = archiveAnswersSubmittedBefore(Instant.now().minus(archiveAfter));
+        if (archived > 0) {
+            log.info("Archived {} answers older than {}", archived, archiveAfter);
+        }
+    }
+
+    /**
+     * Archives the answers submitted before a cutoff, one transaction per batch.
+     *
+     * @param cutoff the submission time before which answers are archived
+     * @return the number of archived answers
+     */
+    public int archiveAnswersSubmittedBefore(Instant cutoff) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int total = 0;
+        int archived;
+        do {
+            archived = template.execute(status -> archiveBatch(cutoff));
+            total += archived;
+        } while (archived == batchSize);
+        return total;
+    }
+
+    /**
+     * Fills in the text and feedback of an archived answer from the archive. The
+     * answer must not be flushed afterwards: the restored values are for reading
+     * only.
+     *
+     * @param answer the answer
+     * @return the same answer
+     */
+    public Answer restore(Answer answer) {
+        if (answer.isArchived()) {
+            answerArchiveRepository.findById(answer.getId()).ifPresent(archive -> {
+                AnswerArchive.Content content = decompress(archive.getContent());
+                answer.setText(content.getText());
+                answer.setFeedback(content.getFeedback());
+            });
+        }
+        return answer;
+    }
+
+    /**
+     * Fills in the archived texts of attempts from the archive row of their
+     * answer. Like {@link #restore(Answer)}, the attempts must not be flushed
+     * afterwards.
+     *
+     * @param answerId the ID of the answer of the user to the question
+     * @param attempts attempts of the same user at the same question
+     * @return the same attempts
+     */
+    public List<AnswerAttempt> restoreAttempts(Long answerId, List<AnswerAttempt> attempts) {
+        if (attempts.stream().anyMatch(attempt -> attempt.getText() == null)) {
+            answerArchiveRepository.findById(answerId).ifPresent(archive -> {
+                Map<Long, String> texts = decompress(archive.getContent()).getAttempts();
+                if (texts != null) {
+                    for (AnswerAttempt attempt : attempts) {
+                        if (attempt.getText() == null) {
+                            attempt.setText(texts.get(attempt.getId()));
+                        }
+                    }
+                }
+            });
+        }
+        return attempts;
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<Answer> answers = answerRepository.findArchivable(cutoff, Limit.of(batchSize));
+        if (answers.isEmpty()) {
+            return 0;
+        }
+
+        // An earlier archival of a since re-submitted answer leaves a stale row,
+        // which is overwritten but keeps the attempt texts archived back then
+        List<Long> ids = answers.stream().map(Answer::getId).collect(Collectors.toList());
+        Map<Long, AnswerArchive> stale = answerArchiveRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(AnswerArchive::getAnswerId, Function.identity()));
+        Map<Long, Map<Long, String>> attemptTexts = new HashMap<>();
+        for (AnswerArchive archive : stale.values()) {
+            Map<Long, String> texts = decompress(archive.getContent()).getAttempts();
+            if (texts != null) {
+                attemptTexts.put(archive.getAnswerId(), new HashMap<>(texts));
+            }
+        }
+
+        List<Long> attemptIds = new ArrayList<>();
+        for (AttemptText attempt : answerAttemptRepository.findTextsByAnswerIds(ids)) {
+            attemptTexts.computeIfAbsent(attempt.getAnswerId(), id -> new HashMap<>())
+                    .put(attempt.getAttemptId(), attempt.getText());
+            attemptIds.add(attempt.getAttemptId());
+        }
+
+        Map<Long, AnswerFeedback> feedbacks = answerFeedbackRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(AnswerFeedback::getAnswerId, Function.identity()));
+        for (Answer answer : answers) {
+            AnswerFeedback feedback = feedbacks.get(answer.getId());
+            if (feedback != null && feedback.getSubmittedAt().equals(answer.getSubmittedAt())) {
+                answer.setFeedback(feedback.getFeedback());
+            }
+        }
+
+        Instant archivedAt = Instant.now();
+        List<AnswerArchive> archives = new ArrayList<>();
+        for (Answer answer : answers) {
+            byte[] content = compress(new AnswerArchive.Content(answer.getText(), answer.getFeedback(),
+                    attemptTexts.get(answer.getId())));
+            AnswerArchive archive = stale.get(answer.getId());
+            if (archive != null) {
+                archive.setSubmittedAt(answer.getSubmittedAt());
+                archive.setArchivedAt(archivedAt);
+                archive.setContent(content);
+            } else {
+                archives.add(AnswerArchive.builder()
+                        .answerId(answer.getId())
+                        .submittedAt(answer.getSubmittedAt())
+                        .archivedAt(archivedAt)
+                        .content(content)
+                        .newRow(true)
+                        .build());
+            }
+        }
+        answerArchiveRepository.saveAll(archives);
+        answerFeedbackRepository.deleteAllByIdInBatch(feedbacks.keySet());
+        if (!attemptIds.isEmpty()) {
+            answerAttemptRepository.clearTexts(attemptIds);
+        }
+
+        for (Answer answer : answers) {
+            answer.setText(null);
+            answer.setArchived(true);
+        }
+        return answers.size();
+    }
+
+    private static byte[] compress(AnswerArchive.Content content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            MAPPER.writeValue(out, content);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not compress archived answer", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static AnswerArchive.Content decompress(byte[] content) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return MAPPER.readValue(in, AnswerArchive.Content.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not decompress archived answer", e);
+        }
+    }
+}
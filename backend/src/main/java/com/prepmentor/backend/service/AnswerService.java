@@ -3,25 +3,33 @@ package com.prepmentor.backend.service;
 import com.prepmentor.backend.dto.AnswerRequest;
 import com.prepmentor.backend.enums.AnswerType;
 import com.prepmentor.backend.model.Answer;
+import com.prepmentor.backend.model.AnswerAttempt;
 import com.prepmentor.backend.model.Question;
 import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.projection.AnswerSubmissionContext;
+import com.prepmentor.backend.repository.AnswerAttemptRepository;
+import com.prepmentor.backend.repository.AnswerFeedbackRepository;
 import com.prepmentor.backend.repository.AnswerRepository;
 import com.prepmentor.backend.repository.QuestionRepository;
 import com.prepmentor.backend.repository.UserRepository;
 import com.prepmentor.backend.util.S3Uploader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 import com.prepmentor.backend.dto.DashboardResponse;
-import java.util.List;
-import java.util.Collections;
-import java.util.stream.Collectors;
 
 /**
  * Service for handling answer-related business logic, including uploading
@@ -30,8 +38,8 @@ import java.util.stream.Collectors;
 @Service
 public class AnswerService {
 
-        @Autowired
-        private QuestionRepository questionRepository;
+        /** Upper bound on the page size of the attempts of a question. */
+        private static final int MAX_ATTEMPTS_PAGE_SIZE = 100;
 
         @Autowired
         private UserRepository userRepository;
@@ -39,69 +47,122 @@ public class AnswerService {
         @Autowired
         private AnswerRepository answerRepository;
 
+        @Autowired
+        private AnswerFeedbackRepository answerFeedbackRepository;
+
+        @Autowired
+        private AnswerAttemptRepository answerAttemptRepository;
+
+        @Autowired
+        private QuestionRepository questionRepository;
+
         @Autowired
         private S3Uploader s3Uploader;
 
+        @Autowired
+        private UserStatsService userStatsService;
+
+        @Autowired
+        private AnswerArchiveService answerArchiveService;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
         /**
          * Handles the upload of an answer, associates it with the user and question,
          * and saves it. If an answer already exists for the user and question,
          * it will be updated instead of creating a new one.
+         * <p>
+         * An answer file is uploaded to S3 first, outside of any transaction, so that
+         * neither a pooled connection nor the answer's row lock is held during the
+         * upload. The submission is then recorded in a short transaction: every
+         * submission is appended to the attempts log, and the answer is pointed at
+         * the new attempt with a single upsert keyed by (user, question), so
+         * concurrent submissions cannot create duplicates. The returned answer is
+         * not a managed entity: it carries the question text and the IDs needed to
+         * store its feedback with {@link #saveFeedback(Answer)}.
          *
          * @param request the answer request containing answer details
          * @param userId  the ID of the user submitting the answer
-         * @return an array containing [Answer entity, boolean isUpdate]
-         * @throws ResponseStatusException if the question or user is not found
+         * @return an array containing [Answer, boolean isUpdate]
+         * @throws ResponseStatusException if the question is not found
          */
         public Object[] handleAnswerUpload(AnswerRequest request, Long userId) {
-                Question question = questionRepository.findById(request.getQuestionId())
-                                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Question not found"));
-
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "User not found"));
-
-                // Check if an answer already exists for this user and question
-                Answer existingAnswer = answerRepository.findByUser_IdAndQuestion_Id(userId, request.getQuestionId())
-                                .orElse(null);
-
                 String fileUrl = null;
 
                 if (!request.getAnswerType().equalsIgnoreCase("TEXT")) {
+                        // Checked up front so that no file is uploaded for a missing question
+                        if (!questionRepository.existsById(request.getQuestionId())) {
+                                throw new ResponseStatusException(NOT_FOUND, "Question not found");
+                        }
                         fileUrl = s3Uploader.uploadBase64File(
                                         request.getFileBase64(),
                                         request.getFilename(),
                                         request.getFileType());
                 }
 
-                Answer answer;
-                boolean isUpdate = false;
-                if (existingAnswer != null) {
-                        // Update existing answer
-                        existingAnswer.setText(request.getAnswerText());
-                        existingAnswer.setFileUrl(fileUrl);
-                        existingAnswer.setAnswerType(AnswerType.valueOf(request.getAnswerType().toUpperCase()));
-                        existingAnswer.setSubmittedAt(Instant.now());
-                        // Clear previous feedback since we're updating the answer
-                        existingAnswer.setScore(null);
-                        existingAnswer.setCorrectness(null);
-                        existingAnswer.setCompleteness(null);
-                        existingAnswer.setClarity(null);
-                        existingAnswer.setFeedback(null);
-                        answer = existingAnswer;
-                        isUpdate = true;
-                } else {
-                        // Create new answer
-                        answer = Answer.builder()
-                                        .text(request.getAnswerText())
-                                        .fileUrl(fileUrl)
-                                        .answerType(AnswerType.valueOf(request.getAnswerType().toUpperCase()))
-                                        .submittedAt(Instant.now())
-                                        .question(question)
-                                        .user(user)
-                                        .build();
+                String uploadedFileUrl = fileUrl;
+                return new TransactionTemplate(transactionManager)
+                                .execute(status -> recordSubmission(request, userId, uploadedFileUrl));
+        }
+
+        /**
+         * Records a submission whose file, if any, has already been uploaded. Runs
+         * in the transaction started by {@link #handleAnswerUpload}.
+         * <p>
+         * The attempt insert is not the only write: the answer row is upserted with
+         * a copy of the attempt. Reads still come first, for the question text to
+         * evaluate, for the previous scores and their row lock, and, for a first
+         * answer, for the ID of the inserted row.
+         */
+        private Object[] recordSubmission(AnswerRequest request, Long userId, String fileUrl) {
+                Long questionId = request.getQuestionId();
+                AnswerSubmissionContext context = answerRepository.findSubmissionContext(questionId, userId)
+                                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Question not found"));
+
+                // Lock the current answer before clearing its scores, so a concurrent
+                // re-submission cannot remove the same scores from the statistics twice
+                Answer previousScores = null;
+                if (context.getScore() != null) {
+                        previousScores = answerRepository.findByIdForUpdate(context.getAnswerId())
+                                        .filter(current -> current.getScore() != null)
+                                        .orElse(null);
                 }
 
-                Answer savedAnswer = answerRepository.save(answer);
-                return new Object[] { savedAnswer, isUpdate };
+                AnswerType answerType = AnswerType.valueOf(request.getAnswerType().toUpperCase());
+                // The column keeps microseconds; feedback is matched on this exact value
+                Instant submittedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+                AnswerAttempt attempt = answerAttemptRepository.save(AnswerAttempt.builder()
+                                .user(userRepository.getReferenceById(userId))
+                                .question(questionRepository.getReferenceById(questionId))
+                                .answerType(answerType)
+                                .text(request.getAnswerText())
+                                .fileUrl(fileUrl)
+                                .submittedAt(submittedAt)
+                                .build());
+                answerRepository.upsertSubmission(userId, questionId, attempt.getId(), request.getAnswerText(),
+                                fileUrl, answerType.name(), submittedAt);
+
+                boolean isUpdate = context.getAnswerId() != null;
+                Long answerId = isUpdate
+                                ? context.getAnswerId()
+                                : answerRepository.findIdByUserIdAndQuestionId(userId, questionId).orElse(null);
+
+                if (previousScores != null) {
+                        userStatsService.removeScore(previousScores);
+                }
+
+                Answer answer = Answer.builder()
+                                .id(answerId)
+                                .text(request.getAnswerText())
+                                .fileUrl(fileUrl)
+                                .answerType(answerType)
+                                .submittedAt(submittedAt)
+                                .question(Question.builder().id(questionId).text(context.getQuestionText()).build())
+                                .user(User.builder().id(userId).build())
+                                .latestAttempt(AnswerAttempt.builder().id(attempt.getId()).build())
+                                .build();
+                return new Object[] { answer, isUpdate };
         }
 
         /**
@@ -111,9 +172,10 @@ public class AnswerService {
          * @return the user ID
          * @throws ResponseStatusException if the user is not found
          */
+        @Transactional(readOnly = true)
         public Long getUserIdByEmail(String email) {
-                return userRepository.findByEmail(email)
-                                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "User not found")).getId();
+                return userRepository.findIdByEmail(email)
+                                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "User not found"));
         }
 
         /**
@@ -168,63 +230,97 @@ public class AnswerService {
         }
 
         /**
-         * Saves the given Answer entity to the database.
+         * Stores the scores and feedback of an answer returned by
+         * {@link #handleAnswerUpload}, and the scores of its attempt. If the answer carries a score, the user's
+         * dashboard statistics are updated in the same transaction. Nothing is
+         * stored if the user has re-submitted the answer in the meantime.
          *
-         * @param answer the Answer entity to save
-         * @return the saved Answer entity
+         * @param answer the answer with its feedback fields applied
+         * @return true if the feedback was stored
          */
-        public Answer save(Answer answer) {
-                return answerRepository.save(answer);
+        @Transactional
+        public boolean saveFeedback(Answer answer) {
+                // The attempt keeps its scores even if it has been superseded
+                answerAttemptRepository.applyScores(
+                                answer.getLatestAttempt().getId(),
+                                answer.getScore(),
+                                answer.getCorrectness(),
+                                answer.getCompleteness(),
+                                answer.getClarity());
+                int updated = answerRepository.applyFeedback(
+                                answer.getUser().getId(),
+                                answer.getQuestion().getId(),
+                                answer.getSubmittedAt(),
+                                answer.getScore(),
+                                answer.getCorrectness(),
+                                answer.getCompleteness(),
+                                answer.getClarity());
+                if (updated == 0) {
+                        return false;
+                }
+                // The answer row stays locked by the update, so this cannot overwrite
+                // the feedback of a newer submission
+                if (answer.getFeedback() != null) {
+                        answerFeedbackRepository.upsertFeedback(answer.getId(), answer.getSubmittedAt(),
+                                        answer.getFeedback());
+                }
+                userStatsService.recordScore(answer);
+                return true;
         }
 
         /**
-         * Retrieves an answer by user ID and question ID.
+         * Retrieves an answer by user ID and question ID, with its question and
+         * the feedback on its current submission loaded. The text and feedback of an archived answer are read back from
+         * the archive.
          *
          * @param userId     the ID of the user
          * @param questionId the ID of the question
          * @return an Optional containing the Answer entity if found, empty otherwise
          */
+        @Transactional(readOnly = true)
         public Optional<Answer> getAnswerByUserIdAndQuestionId(Long userId, Long questionId) {
-                return answerRepository.findByUser_IdAndQuestion_Id(userId, questionId);
+                return answerRepository.findWithQuestionAndFeedback(userId, questionId)
+                                .map(row -> {
+                                        Answer answer = row.getAnswer();
+                                        answer.setFeedback(row.getFeedback());
+                                        return answerArchiveService.restore(answer);
+                                });
         }
 
         /**
-         * Calculates dashboard statistics for a user including average score,
+         * Retrieves a page of the attempts of a user at a question, oldest first,
+         * to show progress over time. The texts of archived attempts are restored
+         * from the archive of the answer.
+         *
+         * @param userId     the ID of the user
+         * @param questionId the ID of the question
+         * @param page       the zero-based page number
+         * @param size       the page size, capped at {@value #MAX_ATTEMPTS_PAGE_SIZE}
+         * @return the attempts in submission order
+         */
+        @Transactional(readOnly = true)
+        public List<AnswerAttempt> getAttempts(Long userId, Long questionId, int page, int size) {
+                Pageable pageable = PageRequest.of(Math.max(0, page),
+                                Math.max(1, Math.min(size, MAX_ATTEMPTS_PAGE_SIZE)));
+                List<AnswerAttempt> attempts = answerAttemptRepository
+                                .findByUser_IdAndQuestion_IdOrderBySubmittedAtAscIdAsc(userId, questionId, pageable);
+                if (attempts.stream().anyMatch(attempt -> attempt.getText() == null)) {
+                        answerRepository.findIdByUserIdAndQuestionId(userId, questionId)
+                                        .ifPresent(answerId -> answerArchiveService.restoreAttempts(answerId, attempts));
+                }
+                return attempts;
+        }
+
+        /**
+         * Retrieves dashboard statistics for a user including average score,
          * questions answered count, and low score questions.
          *
          * @param userId the ID of the user
          * @return DashboardResponse containing user performance metrics
          */
+        @Transactional(readOnly = true)
         public DashboardResponse getDashboardStats(Long userId) {
-                // Get all answers for the user with scores
-                List<Answer> userAnswers = answerRepository.findByUserIdAndScoreIsNotNull(userId);
-                
-                if (userAnswers.isEmpty()) {
-                        return new DashboardResponse(0.0, 0, Collections.emptyList());
-                }
-                
-                // Calculate average score
-                double averageScore = userAnswers.stream()
-                                .mapToInt(Answer::getScore)
-                                .average()
-                                .orElse(0.0);
-                
-                // Get questions answered count
-                int questionsAnsweredCount = userAnswers.size();
-                
-                // Get low score questions (score <= 2 out of 5)
-                List<DashboardResponse.LowScoreQuestion> lowScoreQuestions = userAnswers.stream()
-                                .filter(answer -> answer.getScore() != null && answer.getScore() <= 2)
-                                .sorted((a1, a2) -> a2.getSubmittedAt().compareTo(a1.getSubmittedAt())) // Most recent first
-                                .limit(5) // Limit to last 5 low score questions
-                                .map(answer -> new DashboardResponse.LowScoreQuestion(
-                                                answer.getQuestion().getId(),
-                                                answer.getQuestion().getText(),
-                                                answer.getScore(),
-                                                answer.getSubmittedAt().toString()))
-                                .collect(Collectors.toList());
-                
-                return new DashboardResponse(averageScore, questionsAnsweredCount, lowScoreQuestions);
+                return userStatsService.getDashboard(userId);
         }
 
         private Integer parseIntFromLine(String line) {
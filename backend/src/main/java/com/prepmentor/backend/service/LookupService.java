@@ -0,0 +1,228 @@
+package com.prepmentor.backend.service;
+
+import com.prepmentor.backend.exception.BadRequestException;
+import com.prepmentor.backend.model.Difficulty;
+import com.prepmentor.backend.model.QuestionType;
+import com.prepmentor.backend.model.Tag;
+import com.prepmentor.backend.repository.DifficultyRepository;
+import com.prepmentor.backend.repository.QuestionTypeRepository;
+import com.prepmentor.backend.repository.TagRepository;
+import com.prepmentor.backend.util.LookupNames;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Service resolving question types, difficulty levels and tags to their lookup
+ * table rows.
+ * <p>
+ * Lookup rows are never updated or deleted, so resolved rows are cached in
+ * memory and the steady state needs no queries. The caches hold up to
+ * {@code lookup.cache.max-entries} names each; names past that are resolved
+ * by a query on the unique name or name key index. New values are inserted in
+ * their own transaction, so a cached row always exists even if the caller's
+ * transaction rolls back. Database work is never done inside a map update, so
+ * a slow query holds up no other name.
+ */
+@Service
+public class LookupService {
+
+    private final Map<String, QuestionType> types = new ConcurrentHashMap<>();
+    private final Map<String, Difficulty> difficulties = new ConcurrentHashMap<>();
+    private final Map<String, Tag> tags = new ConcurrentHashMap<>();
+
+    @Autowired
+    private QuestionTypeRepository questionTypeRepository;
+
+    @Autowired
+    private DifficultyRepository difficultyRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${lookup.cache.max-entries:10000}")
+    private int maxCachedEntries;
+
+    /**
+     * Returns the question type with the given name, creating it if needed.
+     *
+     * @param value the entered type, may be null
+     * @return the question type, or null if the value is blank
+     */
+    public QuestionType resolveType(String value) {
+        String name = LookupNames.typeName(value);
+        if (name == null) {
+            return null;
+        }
+        String key = LookupNames.key(name);
+        QuestionType cached = types.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return cache(types, key, inNewTransaction(() -> {
+            questionTypeRepository.insertIfAbsent(name, key);
+            return questionTypeRepository.findByNameKey(key).orElseThrow();
+        }));
+    }
+
+    /**
+     * Returns the difficulty level with the given name, creating it if needed.
+     *
+     * @param value the entered difficulty, may be null
+     * @return the difficulty level, or null if the value is blank
+     */
+    public Difficulty resolveDifficulty(String value) {
+        String name = LookupNames.difficultyName(value);
+        if (name == null) {
+            return null;
+        }
+        String key = LookupNames.key(name);
+        Difficulty cached = difficulties.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return cache(difficulties, key, inNewTransaction(() -> {
+            difficultyRepository.insertIfAbsent(name, key);
+            return difficultyRepository.findByNameKey(key).orElseThrow();
+        }));
+    }
+
+    /**
+     * Returns the tags named in a tag string, creating missing ones.
+     *
+     * @param value the entered tags, separated by commas or whitespace
+     * @return the tags, empty if the value names none
+     */
+    public Set<Tag> resolveTags(String value) {
+        Set<String> names = LookupNames.tags(value);
+        Set<Tag> resolved = new HashSet<>();
+        Set<String> missing = new HashSet<>();
+        for (String name : names) {
+            Tag cached = tags.get(name);
+            if (cached != null) {
+                resolved.add(cached);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Tag> created = inNewTransaction(() -> {
+                missing.forEach(tagRepository::insertIfAbsent);
+                return tagRepository.findByNameIn(missing);
+            });
+            created.forEach(tag -> resolved.add(cache(tags, tag.getName(), tag)));
+        }
+        return resolved;
+    }
+
+    /**
+     * Resolves optional type, difficulty and tag filters to lookup IDs without
+     * creating anything.
+     *
+     * @param type       the type filter, or null/blank for any
+     * @param difficulty the difficulty filter, or null/blank for any
+     * @param tag        the tag filter, a single tag, or null/blank for any
+     * @return the filter; {@link Filter#isMatchesNothing()} is set when a value
+     *         names no existing row
+     * @throws BadRequestException if the tag filter names more than one tag
+     */
+    public Filter resolveFilter(String type, String difficulty, String tag) {
+        Optional<Integer> typeId = Optional.empty();
+        Optional<Integer> difficultyId = Optional.empty();
+        Optional<Integer> tagId = Optional.empty();
+        boolean matchesNothing = false;
+
+        String typeName = LookupNames.typeName(type);
+        if (typeName != null) {
+            typeId = findType(typeName).map(QuestionType::getId);
+            matchesNothing = typeId.isEmpty();
+        }
+        String difficultyName = LookupNames.difficultyName(difficulty);
+        if (difficultyName != null) {
+            difficultyId = findDifficulty(difficultyName).map(Difficulty::getId);
+            matchesNothing |= difficultyId.isEmpty();
+        }
+        Set<String> tagNames = LookupNames.tags(tag);
+        if (tagNames.size() > 1) {
+            throw new BadRequestException("Questions can be filtered on one tag only");
+        }
+        if (!tagNames.isEmpty()) {
+            tagId = findTag(tagNames.iterator().next()).map(Tag::getId);
+            matchesNothing |= tagId.isEmpty();
+        }
+        return new Filter(typeId.orElse(null), difficultyId.orElse(null), tagId.orElse(null), matchesNothing);
+    }
+
+    private Optional<QuestionType> findType(String name) {
+        String key = LookupNames.key(name);
+        QuestionType cached = types.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return questionTypeRepository.findByNameKey(key).map(type -> cache(types, key, type));
+    }
+
+    private Optional<Difficulty> findDifficulty(String name) {
+        String key = LookupNames.key(name);
+        Difficulty cached = difficulties.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return difficultyRepository.findByNameKey(key).map(difficulty -> cache(difficulties, key, difficulty));
+    }
+
+    private Optional<Tag> findTag(String name) {
+        Tag cached = tags.get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return tagRepository.findByName(name).map(tag -> cache(tags, name, tag));
+    }
+
+    /**
+     * Caches a resolved row unless the cache is full, returning the row cached
+     * first if another thread resolved the same name concurrently.
+     */
+    private <T> T cache(Map<String, T> cache, String key, T row) {
+        if (cache.size() >= maxCachedEntries) {
+            return row;
+        }
+        T existing = cache.putIfAbsent(key, row);
+        return existing != null ? existing : row;
+    }
+
+    private <T> T inNewTransaction(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> work.get());
+    }
+
+    /**
+     * Lookup IDs of the optional question filters; a null ID means the filter is
+     * not applied.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Filter {
+        private final Integer typeId;
+        private final Integer difficultyId;
+        private final Integer tagId;
+        private final boolean matchesNothing;
+    }
+}
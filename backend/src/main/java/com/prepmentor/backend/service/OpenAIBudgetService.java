@@ -0,0 +1,171 @@
+package com.prepmentor.backend.service;
+
+import com.prepmentor.backend.repository.OpenAIBudgetWindowRepository;
+import com.prepmentor.backend.util.AsyncHandoff;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Service sharing the organization's OpenAI tokens-per-minute and
+ * requests-per-minute quota between all backend instances.
+ * <p>
+ * Before each call, its estimated tokens and one request are reserved in the
+ * current minute's row of {@code openai_budget_window} with a single
+ * conditional update, so instances sharing the database never over-commit the
+ * quota together. Once the response arrives the reservation is corrected to the
+ * reported usage. When a minute is used up, callers wait for the next one (with
+ * jitter, so instances do not retry in lockstep) for at most
+ * {@code openai.budget.max-wait}, instead of calling OpenAI and getting a 429.
+ * The default of 61 seconds is one window plus the jitter, so a caller can
+ * always wait for the next window; it stays below the async request timeout.
+ * The retries run on the application's task executor, and fail with a
+ * ServiceBusyException if it is saturated.
+ * Windows are minutes of the instances' clocks, which are assumed in sync.
+ */
+@Slf4j
+@Service
+public class OpenAIBudgetService {
+
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /** Number of past windows kept for inspection. */
+    private static final long RETAINED_WINDOWS = 60;
+
+    @Autowired
+    private OpenAIBudgetWindowRepository openAIBudgetWindowRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${openai.budget.tokens-per-minute:90000}")
+    private long tokensPerMinute;
+
+    @Value("${openai.budget.requests-per-minute:3500}")
+    private int requestsPerMinute;
+
+    @Value("${openai.budget.max-wait:61s}")
+    private Duration maxWait;
+
+    /**
+     * Reserves budget for one call, waiting for a later window if the current
+     * one is used up.
+     *
+     * @param estimatedTokens the tokens the call is expected to use
+     * @return a future of the reservation, failed with an IOException if no
+     *         budget frees up within the maximum wait
+     */
+    public CompletableFuture<Reservation> reserve(long estimatedTokens) {
+        long deadline = System.currentTimeMillis() + maxWait.toMillis();
+        return reserve(Math.min(estimatedTokens, tokensPerMinute), deadline);
+    }
+
+    /**
+     * Reserves tokens and one request in a given window if both stay within the
+     * quota.
+     *
+     * @param windowMinute the window, in minutes from the epoch
+     * @param tokens       the tokens to reserve
+     * @return true if reserved
+     */
+    public boolean tryReserve(long windowMinute, long tokens) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        return Boolean.TRUE.equals(template.execute(status -> {
+            if (openAIBudgetWindowRepository.reserve(windowMinute, tokens, tokensPerMinute, requestsPerMinute) == 1) {
+                return true;
+            }
+            openAIBudgetWindowRepository.insertIfAbsent(windowMinute);
+            return openAIBudgetWindowRepository.reserve(windowMinute, tokens, tokensPerMinute, requestsPerMinute) == 1;
+        }));
+    }
+
+    /**
+     * Corrects a reservation to the tokens the call actually used, returning
+     * unused tokens to its window or charging the excess. A failed call also
+     * returns its request.
+     *
+     * @param reservation  the reservation of the call
+     * @param actualTokens the tokens reported by OpenAI, or 0 if the call failed
+     */
+    public void reconcile(Reservation reservation, long actualTokens) {
+        if (actualTokens == 0) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    openAIBudgetWindowRepository.release(reservation.getWindowMinute(), reservation.getTokens()));
+            return;
+        }
+        long delta = actualTokens - reservation.getTokens();
+        if (delta != 0) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    openAIBudgetWindowRepository.adjustTokens(reservation.getWindowMinute(), delta));
+        }
+    }
+
+    /**
+     * Returns the current window.
+     *
+     * @return the current minute, counted from the epoch
+     */
+    public long currentWindow() {
+        return System.currentTimeMillis() / WINDOW_MILLIS;
+    }
+
+    /**
+     * Deletes the windows older than an hour.
+     */
+    @Scheduled(fixedDelayString = "${openai.budget.purge-interval:10m}")
+    public void purgeOldWindows() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                openAIBudgetWindowRepository.deleteBefore(currentWindow() - RETAINED_WINDOWS));
+    }
+
+    private CompletableFuture<Reservation> reserve(long tokens, long deadline) {
+        long window = currentWindow();
+        if (tryReserve(window, tokens)) {
+            return CompletableFuture.completedFuture(new Reservation(window, tokens));
+        }
+
+        long retryAt = (window + 1) * WINDOW_MILLIS + ThreadLocalRandom.current().nextLong(1000);
+        if (retryAt > deadline) {
+            log.warn("OpenAI budget of {} tokens / {} requests per minute exhausted", tokensPerMinute,
+                    requestsPerMinute);
+            return CompletableFuture.failedFuture(new IOException("OpenAI budget exhausted, try again later."));
+        }
+        long delay = retryAt - System.currentTimeMillis();
+        // The timer thread only hands the retry over to the task executor
+        CompletableFuture<Void> wait = CompletableFuture.runAsync(() -> { },
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+        return AsyncHandoff.applyOn(wait, ignored -> reserve(tokens, deadline), taskExecutor)
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Budget reserved for one OpenAI call.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Reservation {
+        /** The window the budget was taken from. */
+        private final long windowMinute;
+        /** The tokens reserved. */
+        private final long tokens;
+    }
+}
@@ -4,26 +4,57 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prepmentor.backend.config.OpenAIConfig;
 import com.prepmentor.backend.dto.QuestionSetRequest;
+import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * Service for interacting with the OpenAI API to generate interview questions
  * and feedback.
  * Handles prompt construction and API communication.
+ * <p>
+ * Calls are made asynchronously: the returned futures complete on OkHttp's
+ * dispatcher threads, so no request thread waits for OpenAI. Each call first
+ * reserves its estimated tokens in the budget shared by all instances; see
+ * {@link OpenAIBudgetService}. Settling a reservation once the response
+ * arrives takes a database transaction, so it is handed over to the task
+ * executor rather than run on OkHttp's threads.
  */
+@Slf4j
 @Service
 public class OpenAIService {
-    private final OkHttpClient client = new OkHttpClient();
+    /** Completion tokens requested per call. */
+    private static final int MAX_TOKENS = 500;
+
+    /** Rough number of prompt characters per token, for estimating a call's usage. */
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final OkHttpClient client;
     private final OpenAIConfig openAIConfig;
+    private final OpenAIBudgetService budgetService;
+    private final TaskExecutor taskExecutor;
     private final ObjectMapper mapper = new ObjectMapper();
 
-    public OpenAIService(OpenAIConfig openAIConfig) {
+    public OpenAIService(OpenAIConfig openAIConfig, OpenAIBudgetService budgetService,
+                         @Qualifier("taskExecutor") TaskExecutor taskExecutor) {
         this.openAIConfig = openAIConfig;
+        this.budgetService = budgetService;
+        this.taskExecutor = taskExecutor;
+        // All calls go to one host, so its limit is the overall one
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(openAIConfig.getMaxConcurrentRequests());
+        dispatcher.setMaxRequestsPerHost(openAIConfig.getMaxConcurrentRequests());
+        this.client = new OkHttpClient.Builder().dispatcher(dispatcher).build();
     }
 
     /**
@@ -31,12 +62,10 @@ public class OpenAIService {
      * request.
      *
      * @param req the question set request containing generation parameters
-     * @return a list of generated questions as strings
-     * @throws IOException if the OpenAI API call fails
+     * @return a future of the generated questions, failed with an IOException if
+     *         the OpenAI API call fails
      */
-    public List<String> generateQuestions(QuestionSetRequest req) throws IOException {
-        MediaType JSON = MediaType.get("application/json; charset=utf-8");
-
+    public CompletableFuture<List<String>> generateQuestions(QuestionSetRequest req) {
         String prompt = String.format(
                 "Generate %d %s %s interview questions",
                 req.getQuantity(),
@@ -51,53 +80,16 @@ public class OpenAIService {
                         {"role":"system","content":"Most questions should be 1–2 lines. If necessary (e.g., for coding tasks), you may use up to 4 lines."},
                         {"role":"user","content":"%s"}
                     ],
-                    "max_tokens": 500
+                    "max_tokens": %d
                 }
                 """
-                .formatted(prompt);
-
-        RequestBody body = RequestBody.create(bodyJson, JSON);
-        Request request = new Request.Builder()
-                .url("https://api.openai.com/v1/chat/completions")
-                .header("Authorization", "Bearer " + openAIConfig.getApiKey())
-                .header("Content-Type", "application/json")
-                .post(body)
-                .build();
+                .formatted(prompt, MAX_TOKENS);
 
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() == null) {
-                throw new IOException("OpenAI API response body is null.");
-            }
-
-            String json = response.body().string();
-            JsonNode root = mapper.readTree(json);
-
-            // If OpenAI returns an error, it usually contains an 'error' object
-            if (root.has("error")) {
-                String errorMessage = root.get("error").get("message").asText();
-                throw new IOException("OpenAI API error: " + errorMessage);
-            }
-
-            JsonNode choicesNode = root.path("choices");
-            if (!choicesNode.isArray() || choicesNode.isEmpty()) {
-                throw new IOException("No choices found in OpenAI response.");
-            }
-
-            String content = choicesNode.get(0)
-                    .path("message")
-                    .path("content")
-                    .asText("");
-
-            if (content.isEmpty()) {
-                throw new IOException("Content in OpenAI response is empty.");
-            }
-
-            return List.of(content.split("\\n"))
-                    .stream()
-                    .filter(line -> line.matches("^\\d+\\.\\s.*"))
-                    .map(line -> line.replaceFirst("^\\d+\\.\\s*", ""))
-                    .collect(Collectors.toList());
-        }
+        return call(bodyJson).thenApply(content -> List.of(content.split("\\n"))
+                .stream()
+                .filter(line -> line.matches("^\\d+\\.\\s.*"))
+                .map(line -> line.replaceFirst("^\\d+\\.\\s*", ""))
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -106,11 +98,10 @@ public class OpenAIService {
      *
      * @param questionText the text of the question
      * @param answerText   the text of the answer
-     * @return feedback as a string
-     * @throws IOException if the OpenAI API call fails
+     * @return a future of the feedback, failed with an IOException if the OpenAI
+     *         API call fails
      */
-    public String generateFeedback(String questionText, String answerText) throws IOException {
-        MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    public CompletableFuture<String> generateFeedback(String questionText, String answerText) {
         String prompt = "Question: " + questionText + "Answer: " + answerText;
 
         String bodyJson = """
@@ -126,26 +117,92 @@ public class OpenAIService {
                       "content": "%s"
                     }
                   ],
-                  "max_tokens": 500
+                  "max_tokens": %d
                 }
-                """.formatted(prompt);
+                """.formatted(prompt, MAX_TOKENS);
+
+        return call(bodyJson).thenApply(String::trim);
+    }
 
+    /**
+     * Sends a chat completion request without blocking the caller, once budget
+     * for it has been reserved.
+     *
+     * @param bodyJson the request body
+     * @return a future of the content of the first choice
+     */
+    private CompletableFuture<String> call(String bodyJson) {
+        long estimatedTokens = bodyJson.length() / CHARS_PER_TOKEN + MAX_TOKENS;
+        // Responses arrive on OkHttp's threads, which get the caller's MDC for their log lines
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return budgetService.reserve(estimatedTokens)
+                .thenCompose(reservation -> send(bodyJson, reservation, mdc));
+    }
 
-        RequestBody body = RequestBody.create(bodyJson, JSON);
+    private CompletableFuture<String> send(String bodyJson, OpenAIBudgetService.Reservation reservation,
+                                           Map<String, String> mdc) {
+        RequestBody body = RequestBody.create(bodyJson, MediaType.get("application/json; charset=utf-8"));
         Request request = new Request.Builder()
-                .url("https://api.openai.com/v1/chat/completions")
+                .url(openAIConfig.getApiUrl() + "/v1/chat/completions")
                 .header("Authorization", "Bearer " + openAIConfig.getApiKey())
                 .header("Content-Type", "application/json")
                 .post(body)
                 .build();
-        try (Response response = client.newCall(request).execute()) {
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Call call = client.newCall(request);
+        // Cancelling the future cancels the call
+        result.whenComplete((content, error) -> {
+            if (result.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                withMdc(mdc, () -> {
+                    reconcile(reservation, 0);
+                    result.completeExceptionally(e);
+                });
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                withMdc(mdc, () -> {
+                    try (response) {
+                        result.complete(parseContent(response, reservation));
+                    } catch (IOException | RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reads the content of the first choice, reconciling the reservation with
+     * the reported usage, or returning all of its tokens if the call failed
+     * without reporting any.
+     */
+    private String parseContent(Response response, OpenAIBudgetService.Reservation reservation) throws IOException {
+        boolean reconciled = false;
+        try {
             if (response.body() == null) {
                 throw new IOException("OpenAI API response body is null.");
             }
             String json = response.body().string();
             JsonNode root = mapper.readTree(json);
+
+            JsonNode usage = root.path("usage").path("total_tokens");
+            if (usage.isNumber()) {
+                reconcile(reservation, usage.asLong());
+                reconciled = true;
+            }
+
+            // If OpenAI returns an error, it usually contains an 'error' object
             if (root.has("error")) {
-                String errorMessage = root.get("error").get("message").asText();
+                String errorMessage = root.get("error").path("message").asText();
                 throw new IOException("OpenAI API error: " + errorMessage);
             }
             JsonNode choicesNode = root.path("choices");
@@ -159,7 +216,39 @@ public class OpenAIService {
             if (content.isEmpty()) {
                 throw new IOException("Content in OpenAI response is empty.");
             }
-            return content.trim();
+            return content;
+        } catch (IOException | RuntimeException e) {
+            if (!reconciled) {
+                reconcile(reservation, 0);
+            }
+            throw e;
+        }
+    }
+
+    private void reconcile(OpenAIBudgetService.Reservation reservation, long actualTokens) {
+        // If it cannot be settled, the reservation simply stands as estimated
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    budgetService.reconcile(reservation, actualTokens);
+                } catch (RuntimeException e) {
+                    log.warn("Could not reconcile OpenAI budget reservation", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Could not reconcile OpenAI budget reservation, the task executor is saturated");
+        }
+    }
+
+    /** Runs an OkHttp callback with the MDC of the call, clearing it afterwards. */
+    private static void withMdc(Map<String, String> mdc, Runnable callback) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            callback.run();
+        } finally {
+            MDC.clear();
         }
     }
 }
@@ -0,0 +1,114 @@
+package com.prepmentor.backend.service;
+
+import com.prepmentor.backend.dto.QuestionPreviewResponse;
+import com.prepmentor.backend.exception.BadRequestException;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.QuestionTerm;
+import com.prepmentor.backend.model.Tag;
+import com.prepmentor.backend.projection.SearchHit;
+import com.prepmentor.backend.repository.QuestionRepository;
+import com.prepmentor.backend.repository.QuestionTermRepository;
+import com.prepmentor.backend.util.SearchTokenizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the keyword search over published questions. Maintains the
+ * inverted index in {@code question_term} and answers ranked queries from it.
+ */
+@Service
+public class QuestionSearchService {
+
+    /** Upper bound on the number of results returned by one search. */
+    private static final int MAX_RESULTS = 100;
+
+    @Autowired
+    private QuestionTermRepository questionTermRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private LookupService lookupService;
+
+    /**
+     * (Re-)indexes the given questions, replacing any postings they already
+     * have.
+     *
+     * @param questions the questions to index
+     */
+    @Transactional
+    public void indexQuestions(List<Question> questions) {
+        if (questions == null || questions.isEmpty()) {
+            return;
+        }
+        List<Long> questionIds = questions.stream().map(Question::getId).collect(Collectors.toList());
+        questionTermRepository.deleteByQuestionIds(questionIds);
+
+        List<QuestionTerm> postings = questions.stream()
+                .flatMap(question -> SearchTokenizer.questionTermWeights(question.getText(), tagNames(question))
+                        .entrySet()
+                        .stream()
+                        .map(term -> new QuestionTerm(
+                                new QuestionTerm.Key(term.getKey(), question.getId()),
+                                term.getValue())))
+                .collect(Collectors.toList());
+        questionTermRepository.saveAll(postings);
+    }
+
+    /**
+     * Searches published questions by keywords, optionally filtered by exact
+     * type and difficulty. Questions matching more (or more heavily weighted)
+     * keywords rank first.
+     *
+     * @param query      the keywords
+     * @param type       the type name filter, or null/blank for any
+     * @param difficulty the difficulty name filter, or null/blank for any
+     * @param size       the maximum number of results
+     * @return the matching question previews, most relevant first
+     * @throws BadRequestException if the query contains no searchable keyword
+     */
+    @Transactional(readOnly = true)
+    public List<QuestionPreviewResponse> search(String query, String type, String difficulty, int size) {
+        Map<String, Integer> terms = SearchTokenizer.termFrequencies(query);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one keyword");
+        }
+
+        LookupService.Filter filter = lookupService.resolveFilter(type, difficulty, null);
+        if (filter.isMatchesNothing()) {
+            return Collections.emptyList();
+        }
+
+        List<SearchHit> hits = questionTermRepository.search(
+                terms.keySet(),
+                filter.getTypeId(),
+                filter.getDifficultyId(),
+                PageRequest.of(0, Math.max(1, Math.min(size, MAX_RESULTS))));
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, QuestionPreviewResponse> previews = questionRepository
+                .findPreviewsByIdIn(hits.stream().map(SearchHit::getQuestionId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(QuestionPreviewResponse::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> previews.get(hit.getQuestionId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static String tagNames(Question question) {
+        return question.getTags().stream().map(Tag::getName).collect(Collectors.joining(" "));
+    }
+}
@@ -1,13 +1,21 @@
 package com.prepmentor.backend.service;
 
 import com.prepmentor.backend.dto.QuestionPreviewResponse;
+import com.prepmentor.backend.dto.QuestionSliceResponse;
+import com.prepmentor.backend.exception.BadRequestException;
 import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.projection.CatalogVersion;
 import com.prepmentor.backend.repository.QuestionRepository;
+import com.prepmentor.backend.repository.QuestionSetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 /**
@@ -17,46 +25,107 @@ import java.util.List;
 @Service
 public class QuestionService {
 
+    /** Upper bound on the page size in cursor mode. */
+    private static final int MAX_SLICE_SIZE = 100;
+
+    /** Prefix of decoded cursor tokens, versioning their format. */
+    private static final String CURSOR_PREFIX = "q1:";
+
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private LookupService lookupService;
+
     /**
-     * Retrieves a paginated and filtered list of questions.
+     * Retrieves a paginated and filtered list of questions. Filters match the
+     * type, difficulty and tag names case-insensitively and exactly.
      *
      * @param page       the page number
      * @param size       the page size
      * @param type       the question type filter
      * @param difficulty the difficulty filter
+     * @param tag        the tag filter, a single tag
      * @return a paginated response of question previews
+     * @throws BadRequestException if more than one tag is given
      */
-    public Page<QuestionPreviewResponse> getQuestions(int page, int size, String type, String difficulty) {
-        String typeFilter = (type == null || type.isEmpty()) ? "" : type;
-        String difficultyFilter = (difficulty == null || difficulty.isEmpty()) ? "" : difficulty;
-
+    @Transactional(readOnly = true)
+    public Page<QuestionPreviewResponse> getQuestions(int page, int size, String type, String difficulty,
+            String tag) {
         PageRequest pageRequest = PageRequest.of(page, size);
+        LookupService.Filter filter = lookupService.resolveFilter(type, difficulty, tag);
+        if (filter.isMatchesNothing()) {
+            return Page.empty(pageRequest);
+        }
 
-        Page<Question> questionPage = questionRepository
-                .findByTypeContainingIgnoreCaseAndDifficultyContainingIgnoreCase(
-                        typeFilter,
-                        difficultyFilter,
-                        pageRequest);
-
-        return questionPage.map(q -> new QuestionPreviewResponse(
-                q.getId(),
-                q.getText(),
-                q.getType(),
-                q.getDifficulty(),
-                q.getTags()));
+        return questionRepository.findPreviews(
+                filter.getTypeId(), filter.getDifficultyId(), filter.getTagId(), pageRequest);
     }
 
     /**
-     * Retrieves all questions for a specific question set.
+     * Retrieves a filtered page of questions in cursor mode. Pages are read by
+     * seeking past the last returned question ID instead of skipping an offset,
+     * and the total is only counted when asked for.
+     *
+     * @param cursor       the token returned with the previous page, or
+     *                     null/blank for the first page
+     * @param size         the page size
+     * @param type         the question type filter
+     * @param difficulty   the difficulty filter
+     * @param tag          the tag filter, a single tag
+     * @param includeTotal whether to count all matching questions
+     * @return the page of question previews with the cursor of the next page
+     * @throws BadRequestException if the cursor is not a valid token or more
+     *                             than one tag is given
+     */
+    @Transactional(readOnly = true)
+    public QuestionSliceResponse getQuestionSlice(String cursor, int size, String type, String difficulty,
+            String tag, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        long afterId = decodeCursor(cursor);
+        LookupService.Filter filter = lookupService.resolveFilter(type, difficulty, tag);
+        if (filter.isMatchesNothing()) {
+            return new QuestionSliceResponse(List.of(), pageSize, false, null, includeTotal ? 0L : null);
+        }
+
+        // Read one extra row to learn whether another page follows
+        List<QuestionPreviewResponse> rows = questionRepository.findPreviewsAfterId(
+                filter.getTypeId(), filter.getDifficultyId(), filter.getTagId(), afterId, Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<QuestionPreviewResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+        Long total = includeTotal
+                ? questionRepository.countPreviews(filter.getTypeId(), filter.getDifficultyId(), filter.getTagId())
+                : null;
+
+        return new QuestionSliceResponse(List.copyOf(content), pageSize, hasNext, nextCursor, total);
+    }
+
+    /**
+     * Returns a value that changes whenever the list of questions may have
+     * changed: questions are only created, changed and deleted together with
+     * their set, which bumps the set count, the highest set ID or a set version.
+     *
+     * @return the version of the question list
+     */
+    @Transactional(readOnly = true)
+    public String getQuestionListVersion() {
+        CatalogVersion version = questionSetRepository.findCatalogVersion();
+        return version.getSetCount() + "-" + version.getMaxSetId() + "-" + version.getVersionSum();
+    }
+
+    /**
+     * Retrieves the previews of all questions for a specific question set.
      *
      * @param questionSetId the ID of the question set
-     * @return a list of questions in the set
+     * @return a list of question previews in the set
      */
-    public List<Question> getQuestionsBySet(Long questionSetId) {
-        return questionRepository.findByQuestionSetId(questionSetId);
+    @Transactional(readOnly = true)
+    public List<QuestionPreviewResponse> getQuestionsBySet(Long questionSetId) {
+        return questionRepository.findPreviewsByQuestionSetId(questionSetId);
     }
 
     /**
@@ -66,8 +135,29 @@ public class QuestionService {
      * @return the Question entity
      * @throws RuntimeException if the question is not found
      */
+    @Transactional(readOnly = true)
     public Question getQuestionById(Long id) {
         return questionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found with id " + id));
     }
+
+    private static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the error below; NumberFormatException is an IllegalArgumentException
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
 }
@@ -1,20 +1,30 @@
 package com.prepmentor.backend.service;
 
 import com.prepmentor.backend.dto.QuestionSetRequest;
+import com.prepmentor.backend.dto.QuestionSetSummaryResponse;
 import com.prepmentor.backend.enums.QuestionSetStatus;
 import com.prepmentor.backend.exception.BadRequestException;
 import com.prepmentor.backend.exception.NotFoundException;
+import com.prepmentor.backend.model.Difficulty;
 import com.prepmentor.backend.model.Question;
 import com.prepmentor.backend.model.QuestionSet;
+import com.prepmentor.backend.model.QuestionType;
+import com.prepmentor.backend.model.Tag;
 import com.prepmentor.backend.repository.QuestionSetRepository;
 import com.prepmentor.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -30,14 +40,25 @@ public class QuestionSetService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private QuestionSearchService questionSearchService;
+
+    @Autowired
+    private LookupService lookupService;
+
     /**
-     * Retrieves all question sets created by a specific user.
+     * Retrieves a page of summaries of the question sets created by a specific
+     * user, newest first.
      *
      * @param userId the user ID
-     * @return a list of question sets created by the user
+     * @param page   the page number
+     * @param size   the page size
+     * @return a page of question set summaries
      */
-    public List<QuestionSet> getQuestionSetsByUser(Long userId) {
-        return questionSetRepository.findByCreatedById(userId);
+    @Transactional(readOnly = true)
+    public Page<QuestionSetSummaryResponse> getQuestionSetSummariesByUser(Long userId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        return questionSetRepository.findSummariesByCreatedById(userId, pageRequest);
     }
 
     /**
@@ -53,12 +74,16 @@ public class QuestionSetService {
         var user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with id " + userId));
 
+        QuestionType type = lookupService.resolveType(req.getType());
+        Difficulty difficulty = lookupService.resolveDifficulty(req.getDifficulty());
+        Set<Tag> tags = lookupService.resolveTags(req.getTags());
+
         QuestionSet qs = QuestionSet.builder()
                 .name(req.getName())
                 .createdAt(Instant.now())
                 .createdBy(user)
-                .type(req.getType())
-                .difficulty(req.getDifficulty())
+                .type(type)
+                .difficulty(difficulty)
                 .tags(req.getTags())
                 .status(QuestionSetStatus.DRAFT)
                 .build();
@@ -66,9 +91,9 @@ public class QuestionSetService {
         List<Question> questionEntities = questions.stream()
                 .map(q -> Question.builder()
                         .text(q)
-                        .type(req.getType())
-                        .difficulty(req.getDifficulty())
-                        .tags(req.getTags())
+                        .type(type)
+                        .difficulty(difficulty)
+                        .tags(new HashSet<>(tags))
                         .questionSet(qs)
                         .build())
                 .collect(Collectors.toList());
@@ -86,18 +111,35 @@ public class QuestionSetService {
      * @return the QuestionSet entity
      * @throws NotFoundException if the question set is not found
      */
+    @Transactional(readOnly = true)
     public QuestionSet getQuestionSetById(Long id) {
+        return questionSetRepository.findWithQuestionsById(id)
+                .orElseThrow(() -> new NotFoundException("Question set not found with id " + id));
+    }
+
+    /**
+     * Retrieves a question set without its questions, to validate cached copies
+     * by its version. Served from the second-level cache when possible.
+     *
+     * @param id the question set ID
+     * @return the QuestionSet entity, with its questions not loaded
+     * @throws NotFoundException if the question set is not found
+     */
+    @Transactional(readOnly = true)
+    public QuestionSet getQuestionSetHeader(Long id) {
         return questionSetRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Question set not found with id " + id));
     }
 
     /**
-     * Confirms and publishes a question set by its ID.
+     * Confirms and publishes a question set by its ID, and adds its questions to
+     * the search index.
      *
      * @param id the question set ID
      * @throws NotFoundException   if the question set is not found
      * @throws BadRequestException if the question set is not in draft status
      */
+    @Transactional
     public void confirmQuestionSet(Long id) {
         QuestionSet qs = questionSetRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Question set not found with id " + id));
@@ -108,6 +150,7 @@ public class QuestionSetService {
 
         qs.setStatus(QuestionSetStatus.PUBLISHED);
         questionSetRepository.save(qs);
+        questionSearchService.indexQuestions(qs.getQuestions());
     }
 
     /**
@@ -117,8 +160,9 @@ public class QuestionSetService {
      * @return the user ID
      * @throws NotFoundException if the user is not found
      */
+    @Transactional(readOnly = true)
     public Long getUserIdByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found")).getId();
+        return userRepository.findIdByEmail(email)
+                .orElseThrow(() -> new NotFoundException("User not found"));
     }
 }
@@ -0,0 +1,159 @@
+package com.prepmentor.backend.service;
+
+import com.prepmentor.backend.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service keeping one in-memory {@link TokenBucket} per policy and user.
+ * <p>
+ * A policy lets a user make {@code rate-limit.<policy>.capacity} requests per
+ * {@code rate-limit.<policy>.period}, in bursts of up to the capacity. Full
+ * buckets carry no state and are dropped by a periodic sweep, so memory follows
+ * the number of recently active users. It is further capped at
+ * {@code rate-limit.max-tracked-users}: past that, new users share one overflow
+ * bucket per policy until a sweep frees room. Requests arriving at the cap
+ * trigger an extra sweep at most once per {@code rate-limit.overflow-sweep-interval}.
+ * <p>
+ * The allowed and rejected requests of each policy are counted in the
+ * {@code rate_limit_requests_total{policy,result}} metric, and the number of
+ * buckets held in {@code rate_limit_buckets}.
+ */
+@Slf4j
+@Service
+public class RateLimitService {
+
+    private static final String OVERFLOW_USER = "";
+
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastOverflowSweep = new AtomicLong(System.nanoTime());
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment env;
+
+    @Value("${rate-limit.max-tracked-users:100000}")
+    private int maxTrackedUsers;
+
+    @Value("${rate-limit.overflow-sweep-interval:1s}")
+    private Duration overflowSweepInterval;
+
+    public RateLimitService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("rate.limit.buckets", buckets, Map::size)
+                .description("Token buckets held by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from a user's bucket for a policy.
+     *
+     * @param policyName the policy name
+     * @param user       the user name
+     * @return the outcome, with the tokens left or the time until one is available
+     */
+    public TokenBucket.Result tryAcquire(String policyName, String user) {
+        Policy policy = policy(policyName);
+        long now = System.nanoTime();
+        TokenBucket.Result result = bucket(policy, user, now).tryConsume(now);
+        (result.isAllowed() ? policy.allowed : policy.rejected).increment();
+        return result;
+    }
+
+    /**
+     * Returns the number of requests a policy allows in a burst.
+     *
+     * @param policyName the policy name
+     * @return the bucket capacity
+     */
+    public int getCapacity(String policyName) {
+        return policy(policyName).capacity;
+    }
+
+    /**
+     * Returns the number of buckets currently held.
+     *
+     * @return the number of tracked (policy, user) pairs
+     */
+    public int getTrackedBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops the buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:1m}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private TokenBucket bucket(Policy policy, String user, long now) {
+        String key = policy.name + ":" + user;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxTrackedUsers) {
+            long last = lastOverflowSweep.get();
+            if (now - last >= overflowSweepInterval.toNanos() && lastOverflowSweep.compareAndSet(last, now)) {
+                evictFullBuckets();
+                if (buckets.size() >= maxTrackedUsers) {
+                    log.warn("Rate limiter tracks {} buckets; new users share the overflow buckets",
+                            buckets.size());
+                }
+            }
+            if (buckets.size() >= maxTrackedUsers) {
+                key = policy.name + ":" + OVERFLOW_USER;
+            }
+        }
+        TokenBucket created = new TokenBucket(policy.capacity, policy.refillIntervalNanos, now);
+        TokenBucket existing = buckets.putIfAbsent(key, created);
+        return existing != null ? existing : created;
+    }
+
+    private Policy policy(String name) {
+        return policies.computeIfAbsent(name, key -> new Policy(key,
+                env.getProperty("rate-limit." + key + ".capacity", Integer.class, 10),
+                env.getProperty("rate-limit." + key + ".period", Duration.class, Duration.ofMinutes(1)),
+                meterRegistry));
+    }
+
+    private static class Policy {
+        private final String name;
+        private final int capacity;
+        private final long refillIntervalNanos;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Policy(String name, int capacity, Duration period, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillIntervalNanos = period.toNanos() / capacity;
+            this.allowed = requestCounter(meterRegistry, name, "allowed");
+            this.rejected = requestCounter(meterRegistry, name, "rejected");
+        }
+
+        private static Counter requestCounter(MeterRegistry meterRegistry, String policy, String result) {
+            return Counter.builder("rate.limit.requests")
+                    .tags("policy", policy, "result", result)
+                    .description("Requests checked against a rate limit policy")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.prepmentor.backend.service;
+
+import com.prepmentor.backend.dto.DashboardResponse;
+import com.prepmentor.backend.model.Answer;
+import com.prepmentor.backend.model.UserStats;
+import com.prepmentor.backend.projection.ScoreSummary;
+import com.prepmentor.backend.repository.AnswerRepository;
+import com.prepmentor.backend.repository.UserStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining the per-user dashboard statistics read model.
+ * <p>
+ * The statistics are updated in the caller's transaction each time an answer
+ * is scored or its score is cleared for re-evaluation, so the dashboard is a
+ * single primary-key lookup. Callers must flush the answer change before
+ * notifying this service: a user without a statistics row yet gets one built
+ * from the answers table, which then already reflects the change.
+ * <p>
+ * The row is created with an insert-if-absent before it is locked, as a lock
+ * cannot be taken on a row that does not exist: two concurrent first scores of
+ * a user would otherwise both insert it.
+ */
+@Service
+public class UserStatsService {
+
+    /** Highest overall score (out of 5) that is reported as a low score. */
+    private static final int LOW_SCORE_THRESHOLD = 2;
+
+    /** Number of recent low score questions kept for the dashboard. */
+    private static final int LOW_SCORE_QUESTION_LIMIT = 5;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    /**
+     * Returns the dashboard statistics of a user. Users whose statistics have not
+     * been materialized yet are answered from the answers table.
+     *
+     * @param userId the ID of the user
+     * @return DashboardResponse containing user performance metrics
+     */
+    @Transactional(readOnly = true)
+    public DashboardResponse getDashboard(Long userId) {
+        UserStats stats = userStatsRepository.findById(userId)
+                .orElseGet(() -> buildFromAnswers(userId));
+        return toDashboardResponse(stats);
+    }
+
+    /**
+     * Adds a newly scored answer to its user's statistics.
+     *
+     * @param answer the scored and flushed answer
+     */
+    @Transactional
+    public void recordScore(Answer answer) {
+        if (answer.getScore() == null) {
+            return;
+        }
+        Long userId = answer.getUser().getId();
+        UserStats stats = lockOrCreate(userId);
+        if (stats.getScoredCount() == UserStats.NOT_BUILT) {
+            fillFromAnswers(stats);
+            return;
+        }
+
+        stats.setScoredCount(stats.getScoredCount() + 1);
+        stats.setScoreTotal(stats.getScoreTotal() + answer.getScore());
+        stats.setCorrectnessTotal(stats.getCorrectnessTotal() + valueOf(answer.getCorrectness()));
+        stats.setCompletenessTotal(stats.getCompletenessTotal() + valueOf(answer.getCompleteness()));
+        stats.setClarityTotal(stats.getClarityTotal() + valueOf(answer.getClarity()));
+
+        if (answer.getScore() <= LOW_SCORE_THRESHOLD) {
+            // Work on a copy: the loaded list is the dirty-checking snapshot of the column
+            List<UserStats.LowScoreEntry> ring = new ArrayList<>(stats.getRecentLowScores());
+            ring.removeIf(entry -> entry.getQuestionId().equals(answer.getQuestion().getId()));
+            ring.add(0, new UserStats.LowScoreEntry(
+                    answer.getQuestion().getId(),
+                    answer.getQuestion().getText(),
+                    answer.getScore(),
+                    answer.getSubmittedAt().toString()));
+            while (ring.size() > LOW_SCORE_QUESTION_LIMIT) {
+                ring.remove(ring.size() - 1);
+            }
+            stats.setRecentLowScores(ring);
+        }
+        userStatsRepository.save(stats);
+    }
+
+    /**
+     * Removes the previous score of an answer that is being re-submitted from its
+     * user's statistics.
+     *
+     * @param previous the answer as it was before its scores were cleared
+     */
+    @Transactional
+    public void removeScore(Answer previous) {
+        if (previous.getScore() == null) {
+            return;
+        }
+        Long userId = previous.getUser().getId();
+        UserStats stats = lockOrCreate(userId);
+        if (stats.getScoredCount() == UserStats.NOT_BUILT) {
+            fillFromAnswers(stats);
+            return;
+        }
+
+        stats.setScoredCount(stats.getScoredCount() - 1);
+        stats.setScoreTotal(stats.getScoreTotal() - previous.getScore());
+        stats.setCorrectnessTotal(stats.getCorrectnessTotal() - valueOf(previous.getCorrectness()));
+        stats.setCompletenessTotal(stats.getCompletenessTotal() - valueOf(previous.getCompleteness()));
+        stats.setClarityTotal(stats.getClarityTotal() - valueOf(previous.getClarity()));
+
+        boolean inRing = stats.getRecentLowScores().stream()
+                .anyMatch(entry -> entry.getQuestionId().equals(previous.getQuestion().getId()));
+        if (inRing) {
+            // An older low score may move up into the freed slot
+            stats.setRecentLowScores(findRecentLowScores(userId));
+        }
+        userStatsRepository.save(stats);
+    }
+
+    /**
+     * Locks the statistics row of a user, inserting a placeholder first if there
+     * is none yet.
+     */
+    private UserStats lockOrCreate(Long userId) {
+        userStatsRepository.insertIfAbsent(userId);
+        return userStatsRepository.findByUserIdForUpdate(userId).orElseThrow();
+    }
+
+    /**
+     * Replaces the figures of a locked row with the ones computed from the
+     * answers table.
+     */
+    private void fillFromAnswers(UserStats stats) {
+        UserStats built = buildFromAnswers(stats.getUserId());
+        stats.setScoredCount(built.getScoredCount());
+        stats.setScoreTotal(built.getScoreTotal());
+        stats.setCorrectnessTotal(built.getCorrectnessTotal());
+        stats.setCompletenessTotal(built.getCompletenessTotal());
+        stats.setClarityTotal(built.getClarityTotal());
+        stats.setRecentLowScores(built.getRecentLowScores());
+        userStatsRepository.save(stats);
+    }
+
+    private UserStats buildFromAnswers(Long userId) {
+        ScoreSummary summary = answerRepository.summarizeScoresByUserId(userId);
+        return UserStats.builder()
+                .userId(userId)
+                .scoredCount(summary.getAnsweredCount() == null ? 0 : summary.getAnsweredCount())
+                .scoreTotal(valueOf(summary.getScoreTotal()))
+                .correctnessTotal(valueOf(summary.getCorrectnessTotal()))
+                .completenessTotal(valueOf(summary.getCompletenessTotal()))
+                .clarityTotal(valueOf(summary.getClarityTotal()))
+                .recentLowScores(findRecentLowScores(userId))
+                .newRow(true)
+                .build();
+    }
+
+    private List<UserStats.LowScoreEntry> findRecentLowScores(Long userId) {
+        return answerRepository
+                .findRecentLowScores(userId, LOW_SCORE_THRESHOLD, PageRequest.of(0, LOW_SCORE_QUESTION_LIMIT))
+                .stream()
+                .map(view -> new UserStats.LowScoreEntry(
+                        view.getQuestionId(),
+                        view.getQuestionText(),
+                        view.getScore(),
+                        view.getSubmittedAt().toString()))
+                .collect(Collectors.toList());
+    }
+
+    private DashboardResponse toDashboardResponse(UserStats stats) {
+        long count = stats.getScoredCount();
+        List<DashboardResponse.LowScoreQuestion> lowScoreQuestions = stats.getRecentLowScores().stream()
+                .map(entry -> new DashboardResponse.LowScoreQuestion(
+                        entry.getQuestionId(),
+                        entry.getQuestionText(),
+                        entry.getScore(),
+                        entry.getSubmittedAt()))
+                .collect(Collectors.toList());
+        return new DashboardResponse(
+                average(stats.getScoreTotal(), count),
+                average(stats.getCorrectnessTotal(), count),
+                average(stats.getCompletenessTotal(), count),
+                average(stats.getClarityTotal(), count),
+                (int) count,
+                lowScoreQuestions);
+    }
+
+    private static double average(long total, long count) {
+        return count == 0 ? 0.0 : (double) total / count;
+    }
+
+    private static long valueOf(Number value) {
+        return value == null ? 0 : value.longValue();
+    }
+}
@@ -0,0 +1,86 @@
+package com.prepmentor.backend.util;
+
+import com.prepmentor.backend.exception.ServiceBusyException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Continues a future on an executor, like {@link CompletableFuture#handleAsync}
+ * and {@link CompletableFuture#thenApplyAsync}, but fails the result with a
+ * {@link ServiceBusyException} when the executor rejects the continuation. The
+ * JDK methods let the rejection escape on the thread that completed the source
+ * future, leaving the result incomplete forever.
+ */
+public final class AsyncHandoff {
+
+    private AsyncHandoff() {
+    }
+
+    /**
+     * Runs a function on the outcome of a future on an executor.
+     *
+     * @param source   the future to continue
+     * @param fn       receives the value, or null and the failure, of the source
+     * @param executor the executor running the function
+     * @param <T>      the value type of the source
+     * @param <R>      the result type
+     * @return a future of the function's result, failed with a
+     *         ServiceBusyException if the executor rejected it
+     */
+    public static <T, R> CompletableFuture<R> handleOn(CompletableFuture<T> source,
+            BiFunction<? super T, Throwable, ? extends R> fn, Executor executor) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        source.whenComplete((value, error) -> submit(executor, result, () -> fn.apply(value, unwrap(error))));
+        return result;
+    }
+
+    /**
+     * Runs a function on the value of a future on an executor, passing a failure
+     * of the source on.
+     *
+     * @param source   the future to continue
+     * @param fn       receives the value of the source
+     * @param executor the executor running the function
+     * @param <T>      the value type of the source
+     * @param <R>      the result type
+     * @return a future of the function's result, failed like the source or with
+     *         a ServiceBusyException if the executor rejected the function
+     */
+    public static <T, R> CompletableFuture<R> applyOn(CompletableFuture<T> source,
+            Function<? super T, ? extends R> fn, Executor executor) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        source.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+            } else {
+                submit(executor, result, () -> fn.apply(value));
+            }
+        });
+        return result;
+    }
+
+    private static <R> void submit(Executor executor, CompletableFuture<R> result,
+            Supplier<? extends R> work) {
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(work.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new ServiceBusyException("The server is busy, try again later."));
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
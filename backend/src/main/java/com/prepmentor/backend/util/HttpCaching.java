@@ -0,0 +1,57 @@
+package com.prepmentor.backend.util;
+
+import com.prepmentor.backend.enums.QuestionSetStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class building the ETag and Cache-Control headers of cacheable
+ * question and question set responses.
+ * <p>
+ * The responses are per-user (they require a token), so they are only ever
+ * cacheable by the client. Published sets never change and may be reused
+ * without revalidation for {@code http.cache.published-max-age}; everything
+ * else is revalidated with {@code If-None-Match} on each use.
+ */
+@Component
+public class HttpCaching {
+
+    @Value("${http.cache.published-max-age:1h}")
+    private Duration publishedMaxAge;
+
+    /**
+     * Builds a strong ETag from its parts.
+     *
+     * @param parts the values that identify the representation
+     * @return the quoted ETag
+     */
+    public static String eTag(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Returns the Cache-Control of a question set, or of its questions.
+     *
+     * @param status the status of the set
+     * @return the Cache-Control header value
+     */
+    public CacheControl forQuestionSet(QuestionSetStatus status) {
+        return status == QuestionSetStatus.PUBLISHED
+                ? CacheControl.maxAge(publishedMaxAge).cachePrivate()
+                : revalidate();
+    }
+
+    /**
+     * Returns the Cache-Control of responses that must be revalidated on each use.
+     *
+     * @return the Cache-Control header value
+     */
+    public CacheControl revalidate() {
+        return CacheControl.noCache().cachePrivate();
+    }
+}
@@ -0,0 +1,91 @@
+package com.prepmentor.backend.util;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalizes the free-form type, difficulty and tag values entered for a
+ * question set into the names stored in the lookup tables. The V8 migration
+ * that backfilled existing rows keeps its own frozen copy of these rules.
+ */
+public final class LookupNames {
+
+    /** Longest type name kept, the size of question_type.name; longer values are truncated. */
+    public static final int MAX_TYPE_LENGTH = 100;
+
+    /** Longest difficulty name kept, the size of difficulty.name; longer values are truncated. */
+    public static final int MAX_DIFFICULTY_LENGTH = 50;
+
+    /** Longest tag name kept; longer tags are truncated. */
+    public static final int MAX_TAG_LENGTH = 64;
+
+    private LookupNames() {
+    }
+
+    /**
+     * Normalizes a question type name, see {@link #name}.
+     *
+     * @param value the entered type, may be null
+     * @return the normalized name, or null if the value is blank
+     */
+    public static String typeName(String value) {
+        return name(value, MAX_TYPE_LENGTH);
+    }
+
+    /**
+     * Normalizes a difficulty name, see {@link #name}.
+     *
+     * @param value the entered difficulty, may be null
+     * @return the normalized name, or null if the value is blank
+     */
+    public static String difficultyName(String value) {
+        return name(value, MAX_DIFFICULTY_LENGTH);
+    }
+
+    /**
+     * Normalizes a type or difficulty name by trimming it, collapsing inner
+     * whitespace and truncating it to the column size. Names are matched
+     * case-insensitively by their {@link #key}.
+     *
+     * @param value     the entered value, may be null
+     * @param maxLength the size of the name column
+     * @return the normalized name, or null if the value is blank
+     */
+    public static String name(String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String name = value.trim().replaceAll("\\s+", " ");
+        return name.length() > maxLength ? name.substring(0, maxLength) : name;
+    }
+
+    /**
+     * Returns the case-insensitive key of a normalized type or difficulty name.
+     *
+     * @param name the normalized name
+     * @return the lookup key
+     */
+    public static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a tag string on commas and whitespace into lower-case tag names.
+     *
+     * @param tags the entered tags, may be null
+     * @return the distinct tag names, in order of first occurrence
+     */
+    public static Set<String> tags(String tags) {
+        Set<String> names = new LinkedHashSet<>();
+        if (tags == null) {
+            return names;
+        }
+        for (String token : tags.toLowerCase(Locale.ROOT).split("[,\\s]+")) {
+            if (!token.isEmpty()) {
+                names.add(token.length() > MAX_TAG_LENGTH ? token.substring(0, MAX_TAG_LENGTH) : token);
+            }
+        }
+        return names;
+    }
+}
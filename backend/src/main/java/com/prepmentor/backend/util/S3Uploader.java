@@ -1,6 +1,9 @@
 package com.prepmentor.backend.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -8,23 +11,40 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.util.Base64;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for uploading files to AWS S3 storage.
+ * <p>
+ * Upload durations are recorded in the {@value #TIMER} timer, tagged with
+ * their outcome.
  */
 @Component
 public class S3Uploader {
 
+    static final String TIMER = "s3.upload";
+
     private final S3Client s3Client;
 
+    private final Timer successTimer;
+
+    private final Timer failureTimer;
+
     @Value("${aws.s3.bucket}")
     private String bucketName;
 
     @Value("${aws.region}")
     private String region;
 
-    public S3Uploader(S3Client s3Client) {
+    /**
+     * @param s3Client the S3 client, resolved on the first upload so that it can
+     *                 be created lazily (see {@code LazyInitConfig})
+     * @param meterRegistry the registry of the upload timers
+     */
+    public S3Uploader(@Lazy S3Client s3Client, MeterRegistry meterRegistry) {
         this.s3Client = s3Client;
+        this.successTimer = uploadTimer(meterRegistry, "SUCCESS");
+        this.failureTimer = uploadTimer(meterRegistry, "FAILURE");
     }
 
     /**
@@ -45,8 +65,22 @@ public class S3Uploader {
                 .contentType(contentType)
                 .build();
 
-        s3Client.putObject(putRequest, RequestBody.fromBytes(fileBytes));
+        long start = System.nanoTime();
+        Timer timer = failureTimer;
+        try {
+            s3Client.putObject(putRequest, RequestBody.fromBytes(fileBytes));
+            timer = successTimer;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
 
         return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, uniqueKey);
     }
+
+    private static Timer uploadTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(TIMER)
+                .description("Duration of S3 object uploads")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,63 @@
+package com.prepmentor.backend.util;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits question text and tags into the normalized terms stored in the
+ * question search index.
+ */
+public final class SearchTokenizer {
+
+    /** Longest term kept in the index; longer tokens are truncated. */
+    public static final int MAX_TERM_LENGTH = 64;
+
+    /** Weight of a tag match relative to a single occurrence in the text. */
+    private static final int TAG_WEIGHT = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "do", "does", "for", "from", "how",
+            "in", "is", "it", "of", "on", "or", "the", "this", "to", "what", "when", "which", "why",
+            "with", "you", "your");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Tokenizes the given text into lower-case terms, dropping stop words and
+     * single characters, and counts the occurrences of each term.
+     *
+     * @param text the text to tokenize, may be null
+     * @return the term frequencies, in order of first occurrence
+     */
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}+#]+")) {
+            if (token.length() < 2 || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            String term = token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token;
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /**
+     * Computes the indexed terms of a question with their weights: one point per
+     * occurrence in the text plus a fixed boost for each tag.
+     *
+     * @param text the question text
+     * @param tags the question tags
+     * @return the weight of each term
+     */
+    public static Map<String, Integer> questionTermWeights(String text, String tags) {
+        Map<String, Integer> weights = termFrequencies(text);
+        termFrequencies(tags).keySet().forEach(tag -> weights.merge(tag, TAG_WEIGHT, Integer::sum));
+        return weights;
+    }
+}
@@ -0,0 +1,92 @@
+package com.prepmentor.backend.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The bucket holds up to {@code capacity} tokens and gains one every
+ * {@code refillIntervalNanos}. Its whole state is the instant at which it will
+ * be full again, kept in a single {@link AtomicLong} and advanced with a
+ * compare-and-set, so concurrent requests never block each other. A bucket
+ * whose full instant has passed is indistinguishable from a new one.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+    private final long refillIntervalNanos;
+
+    /** The instant, on the {@link System#nanoTime()} scale, at which the bucket is full. */
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity            the maximum number of tokens
+     * @param refillIntervalNanos the time it takes to gain one token
+     * @param now                 the current time in nanoseconds
+     */
+    public TokenBucket(int capacity, long refillIntervalNanos, long now) {
+        this.capacity = capacity;
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if there is one.
+     *
+     * @param now the current time in nanoseconds
+     * @return the outcome, with the tokens left or the time until one is available
+     */
+    public Result tryConsume(long now) {
+        long burst = capacity * refillIntervalNanos;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillIntervalNanos;
+            long deficit = next - now;
+            if (deficit > burst) {
+                return new Result(false, 0, deficit - burst, current - now);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Result(true, (int) ((burst - deficit) / refillIntervalNanos), 0, deficit);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bucket is full, in which case it can be dropped and
+     * recreated later without any effect.
+     *
+     * @param now the current time in nanoseconds
+     * @return true if the bucket is full
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+
+    /**
+     * @return the maximum number of tokens
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Outcome of {@link #tryConsume(long)}.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        /** Whether a token was taken. */
+        private final boolean allowed;
+        /** The tokens left after the request. */
+        private final int remaining;
+        /** The time until a token is available, 0 if allowed. */
+        private final long retryAfterNanos;
+        /** The time until the bucket is full again. */
+        private final long untilFullNanos;
+    }
+}
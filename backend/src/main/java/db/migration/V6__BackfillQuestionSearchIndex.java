@@ -0,0 +1,87 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the questions of every question set published before the search
+ * index existed. Later publishes are indexed by the application.
+ * <p>
+ * The tokenization is a frozen copy of {@code SearchTokenizer} as of this
+ * version, so that later changes to the application cannot change what this
+ * migration does.
+ */
+public class V6__BackfillQuestionSearchIndex extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private static final int TAG_WEIGHT = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "do", "does", "for", "from", "how",
+            "in", "is", "it", "of", "on", "or", "the", "this", "to", "what", "when", "which", "why",
+            "with", "you", "your");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+                ResultSet questions = select.executeQuery(
+                        "SELECT q.id, q.text, q.tags FROM question q "
+                                + "JOIN question_set qs ON qs.id = q.question_set_id "
+                                + "WHERE qs.status = 'PUBLISHED'");
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO question_term (term, question_id, weight) VALUES (?, ?, ?)")) {
+            int pending = 0;
+            while (questions.next()) {
+                long questionId = questions.getLong(1);
+                Map<String, Integer> weights = questionTermWeights(questions.getString(2), questions.getString(3));
+                for (Map.Entry<String, Integer> term : weights.entrySet()) {
+                    insert.setString(1, term.getKey());
+                    insert.setLong(2, questionId);
+                    insert.setInt(3, term.getValue());
+                    insert.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private static Map<String, Integer> questionTermWeights(String text, String tags) {
+        Map<String, Integer> weights = termFrequencies(text);
+        termFrequencies(tags).keySet().forEach(tag -> weights.merge(tag, TAG_WEIGHT, Integer::sum));
+        return weights;
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}+#]+")) {
+            if (token.length() < 2 || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            String term = token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token;
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,157 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves the type, difficulty and tag strings of existing questions and question
+ * sets into the lookup tables created by V7.
+ * <p>
+ * The normalization is a frozen copy of {@code LookupNames} as of this version,
+ * so that later changes to the application cannot change what this migration
+ * does.
+ */
+public class V8__BackfillQuestionLookups extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    /** Size of question_type.name. */
+    private static final int MAX_TYPE_LENGTH = 100;
+
+    /** Size of difficulty.name. */
+    private static final int MAX_DIFFICULTY_LENGTH = 50;
+
+    private static final int MAX_TAG_LENGTH = 64;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<String, Integer> types = new HashMap<>();
+        Map<String, Integer> difficulties = new HashMap<>();
+        Map<String, Integer> tags = new HashMap<>();
+
+        try (Statement select = connection.createStatement();
+                ResultSet sets = select.executeQuery("SELECT id, type, difficulty FROM question_set");
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE question_set SET type_id = ?, difficulty_id = ? WHERE id = ?")) {
+            int pending = 0;
+            while (sets.next()) {
+                update.setObject(1, lookupId(connection, "question_type", MAX_TYPE_LENGTH, types,
+                        sets.getString(2)));
+                update.setObject(2, lookupId(connection, "difficulty", MAX_DIFFICULTY_LENGTH, difficulties,
+                        sets.getString(3)));
+                update.setLong(3, sets.getLong(1));
+                update.addBatch();
+                pending = flushIfFull(update, pending + 1);
+            }
+            update.executeBatch();
+        }
+
+        try (Statement select = connection.createStatement();
+                ResultSet questions = select.executeQuery("SELECT id, type, difficulty, tags FROM question");
+                PreparedStatement update = connection.prepareStatement(
+                        "UPDATE question SET type_id = ?, difficulty_id = ? WHERE id = ?");
+                PreparedStatement insertTag = connection.prepareStatement(
+                        "INSERT INTO question_tag (question_id, tag_id) VALUES (?, ?)")) {
+            int pending = 0;
+            int pendingTags = 0;
+            while (questions.next()) {
+                long questionId = questions.getLong(1);
+                update.setObject(1, lookupId(connection, "question_type", MAX_TYPE_LENGTH, types,
+                        questions.getString(2)));
+                update.setObject(2, lookupId(connection, "difficulty", MAX_DIFFICULTY_LENGTH, difficulties,
+                        questions.getString(3)));
+                update.setLong(3, questionId);
+                update.addBatch();
+                pending = flushIfFull(update, pending + 1);
+
+                for (String tag : tags(questions.getString(4))) {
+                    insertTag.setLong(1, questionId);
+                    insertTag.setInt(2, tagId(connection, tags, tag));
+                    insertTag.addBatch();
+                    pendingTags = flushIfFull(insertTag, pendingTags + 1);
+                }
+            }
+            update.executeBatch();
+            insertTag.executeBatch();
+        }
+    }
+
+    private static int flushIfFull(PreparedStatement statement, int pending) throws Exception {
+        if (pending < BATCH_SIZE) {
+            return pending;
+        }
+        statement.executeBatch();
+        return 0;
+    }
+
+    private static Integer lookupId(Connection connection, String table, int maxLength, Map<String, Integer> ids,
+            String value) throws Exception {
+        String name = name(value, maxLength);
+        if (name == null) {
+            return null;
+        }
+        Integer id = ids.get(key(name));
+        if (id == null) {
+            id = insert(connection, table, name);
+            ids.put(key(name), id);
+        }
+        return id;
+    }
+
+    private static int tagId(Connection connection, Map<String, Integer> ids, String name) throws Exception {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = insert(connection, "tag", name);
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    private static int insert(Connection connection, String table, String name) throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+            insert.setString(1, name);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private static String name(String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String name = value.trim().replaceAll("\\s+", " ");
+        return name.length() > maxLength ? name.substring(0, maxLength) : name;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> tags(String tags) {
+        Set<String> names = new LinkedHashSet<>();
+        if (tags == null) {
+            return names;
+        }
+        for (String token : tags.toLowerCase(Locale.ROOT).split("[,\\s]+")) {
+            if (!token.isEmpty()) {
+                names.add(token.length() > MAX_TAG_LENGTH ? token.substring(0, MAX_TAG_LENGTH) : token);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,17 @@
+-- Cold storage for answers older than the archival horizon. The answer row
+-- stays behind as a thin summary (scores and timestamps); its text and
+-- feedback move here as one gzip-compressed JSON document.
+
+ALTER TABLE answer ADD COLUMN archived BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE TABLE answer_archive (
+    answer_id    BIGINT      NOT NULL,
+    submitted_at DATETIME(6) NOT NULL,
+    archived_at  DATETIME(6) NOT NULL,
+    content      LONGBLOB    NOT NULL,
+    PRIMARY KEY (answer_id),
+    CONSTRAINT fk_answer_archive_answer FOREIGN KEY (answer_id) REFERENCES answer (id) ON DELETE CASCADE
+);
+
+-- AnswerRepository.findArchivable (archival job scan, oldest first)
+CREATE INDEX idx_answer_archived_submitted ON answer (archived, submitted_at);
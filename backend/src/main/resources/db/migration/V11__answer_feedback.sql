@@ -0,0 +1,19 @@
+-- The feedback text moves out of the answer row into a 1:1 table, so scans
+-- over answers (dashboard aggregates, existence checks) read narrow rows.
+-- Feedback belongs to one submission: it is only shown while submitted_at
+-- matches the answer, so a re-submission hides the old feedback without
+-- deleting it.
+
+CREATE TABLE answer_feedback (
+    answer_id    BIGINT      NOT NULL,
+    submitted_at DATETIME(6) NOT NULL,
+    feedback     LONGTEXT    NOT NULL,
+    PRIMARY KEY (answer_id),
+    CONSTRAINT fk_answer_feedback_answer FOREIGN KEY (answer_id) REFERENCES answer (id) ON DELETE CASCADE
+);
+
+INSERT INTO answer_feedback (answer_id, submitted_at, feedback)
+SELECT id, submitted_at, feedback FROM answer
+WHERE feedback IS NOT NULL AND submitted_at IS NOT NULL;
+
+ALTER TABLE answer DROP COLUMN feedback;
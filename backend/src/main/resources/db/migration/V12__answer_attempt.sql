@@ -0,0 +1,40 @@
+-- Append-only log of every answer submission. The answer table stays as the
+-- compact latest-attempt view per (user, question) and points at the attempt
+-- it currently shows.
+
+CREATE TABLE answer_attempt (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT      NOT NULL,
+    question_id  BIGINT      NOT NULL,
+    answer_type  ENUM ('AUDIO', 'TEXT', 'VIDEO'),
+    text         VARCHAR(255),
+    file_url     VARCHAR(255),
+    submitted_at DATETIME(6) NOT NULL,
+    score        INTEGER,
+    correctness  INTEGER,
+    completeness INTEGER,
+    clarity      INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_answer_attempt_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_answer_attempt_question FOREIGN KEY (question_id) REFERENCES question (id)
+);
+
+-- AnswerAttemptRepository.findByUser_IdAndQuestion_IdOrderBySubmittedAtAsc (progress over time)
+CREATE INDEX idx_answer_attempt_user_question ON answer_attempt (user_id, question_id, submitted_at);
+
+ALTER TABLE answer ADD COLUMN latest_attempt_id BIGINT;
+ALTER TABLE answer ADD CONSTRAINT fk_answer_latest_attempt
+    FOREIGN KEY (latest_attempt_id) REFERENCES answer_attempt (id);
+
+-- The existing answers become the first attempt of their (user, question)
+INSERT INTO answer_attempt (user_id, question_id, answer_type, text, file_url, submitted_at,
+                            score, correctness, completeness, clarity)
+SELECT user_id, question_id, answer_type, text, file_url, submitted_at,
+       score, correctness, completeness, clarity
+FROM answer
+WHERE user_id IS NOT NULL AND question_id IS NOT NULL AND submitted_at IS NOT NULL;
+
+UPDATE answer SET latest_attempt_id = (
+    SELECT MAX(t.id) FROM answer_attempt t
+    WHERE t.user_id = answer.user_id AND t.question_id = answer.question_id
+);
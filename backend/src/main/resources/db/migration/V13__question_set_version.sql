@@ -0,0 +1,4 @@
+-- Optimistic-lock version of a question set, bumped on every update of the set.
+-- The question set and question endpoints derive their ETags from it.
+
+ALTER TABLE question_set ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- OpenAI tokens and requests reserved per minute by all backend instances, so
+-- that together they stay within the organization's TPM/RPM quota. Rows are
+-- only needed for the current minute and are purged after an hour.
+
+CREATE TABLE openai_budget_window (
+    window_minute BIGINT NOT NULL PRIMARY KEY,
+    tokens BIGINT NOT NULL,
+    requests INT NOT NULL
+);
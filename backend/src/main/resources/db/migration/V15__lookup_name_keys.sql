@@ -0,0 +1,37 @@
+-- Case-insensitive keys of the question type and difficulty names, looked up
+-- by plain equality on a unique index. A case-insensitive comparison such as
+-- upper(name) = upper(?) cannot use uk_question_type_name or uk_difficulty_name.
+-- Rows whose names differ only in case, which a case-sensitive collation lets
+-- in, are merged into the oldest one first.
+
+UPDATE question SET type_id = (
+    SELECT MIN(k.id) FROM question_type t JOIN question_type k ON LOWER(k.name) = LOWER(t.name)
+    WHERE t.id = question.type_id)
+WHERE type_id IS NOT NULL;
+UPDATE question_set SET type_id = (
+    SELECT MIN(k.id) FROM question_type t JOIN question_type k ON LOWER(k.name) = LOWER(t.name)
+    WHERE t.id = question_set.type_id)
+WHERE type_id IS NOT NULL;
+DELETE FROM question_type WHERE id NOT IN (
+    SELECT id FROM (SELECT MIN(id) AS id FROM question_type GROUP BY LOWER(name)) keep);
+
+UPDATE question SET difficulty_id = (
+    SELECT MIN(k.id) FROM difficulty d JOIN difficulty k ON LOWER(k.name) = LOWER(d.name)
+    WHERE d.id = question.difficulty_id)
+WHERE difficulty_id IS NOT NULL;
+UPDATE question_set SET difficulty_id = (
+    SELECT MIN(k.id) FROM difficulty d JOIN difficulty k ON LOWER(k.name) = LOWER(d.name)
+    WHERE d.id = question_set.difficulty_id)
+WHERE difficulty_id IS NOT NULL;
+DELETE FROM difficulty WHERE id NOT IN (
+    SELECT id FROM (SELECT MIN(id) AS id FROM difficulty GROUP BY LOWER(name)) keep);
+
+ALTER TABLE question_type ADD COLUMN name_key VARCHAR(100);
+UPDATE question_type SET name_key = LOWER(name);
+ALTER TABLE question_type MODIFY COLUMN name_key VARCHAR(100) NOT NULL;
+ALTER TABLE question_type ADD CONSTRAINT uk_question_type_name_key UNIQUE (name_key);
+
+ALTER TABLE difficulty ADD COLUMN name_key VARCHAR(50);
+UPDATE difficulty SET name_key = LOWER(name);
+ALTER TABLE difficulty MODIFY COLUMN name_key VARCHAR(50) NOT NULL;
+ALTER TABLE difficulty ADD CONSTRAINT uk_difficulty_name_key UNIQUE (name_key);
@@ -0,0 +1,54 @@
+-- Baseline schema, matching the tables previously created by
+-- spring.jpa.hibernate.ddl-auto=update. Existing databases are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE TABLE users (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255),
+    name     VARCHAR(255),
+    password VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE question_set (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    created_at    DATETIME(6),
+    difficulty    VARCHAR(255),
+    name          VARCHAR(255),
+    status        ENUM ('DRAFT', 'PUBLISHED'),
+    tags          VARCHAR(255),
+    type          VARCHAR(255),
+    created_by_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_question_set_created_by FOREIGN KEY (created_by_id) REFERENCES users (id)
+);
+
+CREATE TABLE question (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    difficulty      VARCHAR(255),
+    tags            VARCHAR(255),
+    text            VARCHAR(255),
+    type            VARCHAR(255),
+    question_set_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_question_question_set FOREIGN KEY (question_set_id) REFERENCES question_set (id)
+);
+
+CREATE TABLE answer (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    answer_type  ENUM ('AUDIO', 'TEXT', 'VIDEO'),
+    clarity      INTEGER,
+    completeness INTEGER,
+    correctness  INTEGER,
+    feedback     LONGTEXT,
+    file_url     VARCHAR(255),
+    score        INTEGER,
+    submitted_at DATETIME(6),
+    text         VARCHAR(255),
+    question_id  BIGINT,
+    user_id      BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_answer_question FOREIGN KEY (question_id) REFERENCES question (id),
+    CONSTRAINT fk_answer_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,25 @@
+-- Indexes for the repository queries on the request path.
+
+-- Concurrent submissions could previously leave more than one answer per
+-- (user, question); keep the most recent one before enforcing uniqueness.
+DELETE FROM answer
+WHERE id NOT IN (
+    SELECT keep_id FROM (
+        SELECT MAX(id) AS keep_id FROM answer GROUP BY user_id, question_id
+    ) latest
+);
+
+-- AnswerRepository.findByUser_IdAndQuestion_Id
+CREATE UNIQUE INDEX uk_answer_user_question ON answer (user_id, question_id);
+
+-- AnswerRepository.findByUserIdAndScoreIsNotNull (dashboard)
+CREATE INDEX idx_answer_user_score_submitted ON answer (user_id, score, submitted_at);
+
+-- QuestionRepository.findByQuestionSetId
+CREATE INDEX idx_question_set_id ON question (question_set_id, id);
+
+-- QuestionRepository type/difficulty filtering
+CREATE INDEX idx_question_type_difficulty ON question (type, difficulty);
+
+-- QuestionSetRepository.findByCreatedById
+CREATE INDEX idx_question_set_created_by ON question_set (created_by_id, created_at);
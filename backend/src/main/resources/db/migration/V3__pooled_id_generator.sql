@@ -0,0 +1,15 @@
+-- Hi/lo style id allocation for question sets and questions. Hibernate's pooled
+-- optimizer hands out next_val - 49 .. next_val, so each row is seeded one
+-- allocation block above the current maximum id.
+
+CREATE TABLE id_generator (
+    entity_name VARCHAR(255) NOT NULL,
+    next_val    BIGINT,
+    PRIMARY KEY (entity_name)
+);
+
+INSERT INTO id_generator (entity_name, next_val)
+SELECT 'question_set', COALESCE(MAX(id), 0) + 50 FROM question_set;
+
+INSERT INTO id_generator (entity_name, next_val)
+SELECT 'question', COALESCE(MAX(id), 0) + 50 FROM question;
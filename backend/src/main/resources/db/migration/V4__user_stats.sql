@@ -0,0 +1,14 @@
+-- Incrementally maintained dashboard figures, one row per user. Rows are
+-- created from the answer table the first time a user's scores change.
+
+CREATE TABLE user_stats (
+    user_id            BIGINT NOT NULL,
+    scored_count       BIGINT NOT NULL,
+    score_total        BIGINT NOT NULL,
+    correctness_total  BIGINT NOT NULL,
+    completeness_total BIGINT NOT NULL,
+    clarity_total      BIGINT NOT NULL,
+    recent_low_scores  VARCHAR(4000),
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_stats_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,13 @@
+-- Inverted index over published question text and tags. The primary key
+-- (term, question_id) is the posting list of each term; InnoDB clusters the
+-- weight with it, so a keyword lookup never touches the question rows.
+
+CREATE TABLE question_term (
+    term        VARCHAR(64) NOT NULL,
+    question_id BIGINT      NOT NULL,
+    weight      INTEGER     NOT NULL,
+    PRIMARY KEY (term, question_id),
+    CONSTRAINT fk_question_term_question FOREIGN KEY (question_id) REFERENCES question (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_question_term_question ON question_term (question_id);
@@ -0,0 +1,48 @@
+-- Lookup tables for question types, difficulty levels and tags. Questions and
+-- question sets reference types and difficulties by integer ID, and question
+-- tags move from a copied string to the question_tag join table. Existing rows
+-- are backfilled by V8 and the string columns are dropped by V9.
+
+CREATE TABLE question_type (
+    id   INTEGER      NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_question_type_name UNIQUE (name)
+);
+
+CREATE TABLE difficulty (
+    id   INTEGER     NOT NULL AUTO_INCREMENT,
+    name VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_difficulty_name UNIQUE (name)
+);
+
+CREATE TABLE tag (
+    id   INTEGER     NOT NULL AUTO_INCREMENT,
+    name VARCHAR(64) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tag_name UNIQUE (name)
+);
+
+ALTER TABLE question ADD COLUMN type_id INTEGER;
+ALTER TABLE question ADD COLUMN difficulty_id INTEGER;
+ALTER TABLE question ADD CONSTRAINT fk_question_type FOREIGN KEY (type_id) REFERENCES question_type (id);
+ALTER TABLE question ADD CONSTRAINT fk_question_difficulty FOREIGN KEY (difficulty_id) REFERENCES difficulty (id);
+
+ALTER TABLE question_set ADD COLUMN type_id INTEGER;
+ALTER TABLE question_set ADD COLUMN difficulty_id INTEGER;
+ALTER TABLE question_set ADD CONSTRAINT fk_question_set_type FOREIGN KEY (type_id) REFERENCES question_type (id);
+ALTER TABLE question_set ADD CONSTRAINT fk_question_set_difficulty
+    FOREIGN KEY (difficulty_id) REFERENCES difficulty (id);
+
+-- The primary key serves the tags of a question; the secondary index serves
+-- the questions of a tag (tag filter).
+CREATE TABLE question_tag (
+    question_id BIGINT  NOT NULL,
+    tag_id      INTEGER NOT NULL,
+    PRIMARY KEY (question_id, tag_id),
+    CONSTRAINT fk_question_tag_question FOREIGN KEY (question_id) REFERENCES question (id) ON DELETE CASCADE,
+    CONSTRAINT fk_question_tag_tag FOREIGN KEY (tag_id) REFERENCES tag (id)
+);
+
+CREATE INDEX idx_question_tag_tag ON question_tag (tag_id, question_id);
@@ -0,0 +1,12 @@
+-- Drops the string columns replaced by the lookup tables (backfilled by V8)
+-- and re-creates the type/difficulty filter index on the integer keys.
+
+ALTER TABLE question DROP INDEX idx_question_type_difficulty;
+CREATE INDEX idx_question_type_difficulty ON question (type_id, difficulty_id, id);
+
+ALTER TABLE question DROP COLUMN type;
+ALTER TABLE question DROP COLUMN difficulty;
+ALTER TABLE question DROP COLUMN tags;
+
+ALTER TABLE question_set DROP COLUMN type;
+ALTER TABLE question_set DROP COLUMN difficulty;
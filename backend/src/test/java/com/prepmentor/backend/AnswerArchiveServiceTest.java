@@ -0,0 +1,170 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.dto.AnswerRequest;
+import com.prepmentor.backend.enums.AnswerType;
+import com.prepmentor.backend.model.Answer;
+import com.prepmentor.backend.model.AnswerAttempt;
+import com.prepmentor.backend.model.AnswerFeedback;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.AnswerArchiveRepository;
+import com.prepmentor.backend.repository.AnswerAttemptRepository;
+import com.prepmentor.backend.repository.AnswerFeedbackRepository;
+import com.prepmentor.backend.repository.AnswerRepository;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.AnswerArchiveService;
+import com.prepmentor.backend.service.AnswerService;
+import com.prepmentor.backend.service.UserStatsService;
+import com.prepmentor.backend.util.S3Uploader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Verifies that old answers are archived in batches down to a thin summary
+ * row together with the texts of their attempts, and that their text, feedback
+ * and attempt history can still be read back.
+ */
+@DisabledInAotMode
+@DataJpaTest(properties = "answer.archive.batch-size=1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ AnswerArchiveService.class, AnswerService.class, UserStatsService.class })
+public class AnswerArchiveServiceTest {
+
+    @Autowired
+    private AnswerArchiveService answerArchiveService;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private AnswerArchiveRepository answerArchiveRepository;
+
+    @Autowired
+    private AnswerFeedbackRepository answerFeedbackRepository;
+
+    @Autowired
+    private AnswerAttemptRepository answerAttemptRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private S3Uploader s3Uploader;
+
+    @Test
+    void archivesOldAnswersAndRestoresThemOnRead() {
+        User user = userRepository.save(TestFixtures.user("Archive User", "archive@example.com"));
+        List<Question> questions = questionSetRepository.save(TestFixtures.publishedSet(user, "Archive set",
+                List.of("What is a heap?", "What is a stack?", "What is a queue?"))).getQuestions();
+
+        Instant now = Instant.now();
+        Answer old = save(user, questions.get(0), now.minus(Duration.ofDays(400)), "A tree", 4);
+        Answer older = save(user, questions.get(1), now.minus(Duration.ofDays(500)), "A pile", 1);
+        Answer recent = save(user, questions.get(2), now.minus(Duration.ofDays(3)), "A line", 5);
+        AnswerAttempt first = attempt(user, questions.get(0), now.minus(Duration.ofDays(450)), "A trunk");
+        AnswerAttempt latest = attempt(user, questions.get(0), now.minus(Duration.ofDays(400)), "A tree");
+        AnswerAttempt hot = attempt(user, questions.get(2), now.minus(Duration.ofDays(3)), "A line");
+        entityManager.flush();
+        entityManager.clear();
+
+        Instant cutoff = now.minus(Duration.ofDays(180));
+        Assertions.assertEquals(2, answerArchiveService.archiveAnswersSubmittedBefore(cutoff));
+        Assertions.assertEquals(0, answerArchiveService.archiveAnswersSubmittedBefore(cutoff));
+        entityManager.flush();
+        entityManager.clear();
+
+        Answer summary = answerRepository.findById(old.getId()).orElseThrow();
+        Assertions.assertTrue(summary.isArchived());
+        Assertions.assertNull(summary.getText());
+        Assertions.assertFalse(answerFeedbackRepository.existsById(old.getId()));
+        Assertions.assertEquals(4, summary.getScore());
+        Assertions.assertTrue(answerRepository.findById(older.getId()).orElseThrow().isArchived());
+        Assertions.assertFalse(answerRepository.findById(recent.getId()).orElseThrow().isArchived());
+        Assertions.assertTrue(answerFeedbackRepository.existsById(recent.getId()));
+        Assertions.assertEquals(2, answerArchiveRepository.count());
+        Assertions.assertNull(answerAttemptRepository.findById(first.getId()).orElseThrow().getText());
+        Assertions.assertNull(answerAttemptRepository.findById(latest.getId()).orElseThrow().getText());
+        Assertions.assertEquals("A line", answerAttemptRepository.findById(hot.getId()).orElseThrow().getText());
+        entityManager.clear();
+
+        List<AnswerAttempt> attempts = answerService.getAttempts(user.getId(), questions.get(0).getId(), 0, 20);
+        Assertions.assertEquals(List.of("A trunk", "A tree"), attempts.stream().map(AnswerAttempt::getText).toList());
+        entityManager.clear();
+
+        Answer restored = answerService.getAnswerByUserIdAndQuestionId(user.getId(), questions.get(0).getId())
+                .orElseThrow();
+        Assertions.assertEquals("A tree", restored.getText());
+        Assertions.assertEquals("Feedback on A tree", restored.getFeedback());
+        entityManager.clear();
+
+        // Re-submitting makes the answer hot again
+        AnswerRequest request = new AnswerRequest();
+        request.setQuestionId(questions.get(0).getId());
+        request.setAnswerType("TEXT");
+        request.setAnswerText("A complete binary tree");
+        answerService.handleAnswerUpload(request, user.getId());
+        entityManager.clear();
+        Answer resubmitted = answerRepository.findById(old.getId()).orElseThrow();
+        Assertions.assertFalse(resubmitted.isArchived());
+        Assertions.assertEquals("A complete binary tree", resubmitted.getText());
+
+        // Archiving it again carries the attempt texts of the earlier archival over
+        resubmitted.setSubmittedAt(now.minus(Duration.ofDays(300)));
+        answerRepository.saveAndFlush(resubmitted);
+        entityManager.clear();
+        Assertions.assertEquals(1, answerArchiveService.archiveAnswersSubmittedBefore(cutoff));
+        entityManager.flush();
+        entityManager.clear();
+        Assertions.assertEquals(List.of("A trunk", "A tree", "A complete binary tree"),
+                answerService.getAttempts(user.getId(), questions.get(0).getId(), 0, 20).stream()
+                        .map(AnswerAttempt::getText).toList());
+        entityManager.clear();
+        Assertions.assertEquals(List.of("A complete binary tree"),
+                answerService.getAttempts(user.getId(), questions.get(0).getId(), 1, 2).stream()
+                        .map(AnswerAttempt::getText).toList());
+    }
+
+    private Answer save(User user, Question question, Instant submittedAt, String text, int score) {
+        Answer answer = answerRepository.save(Answer.builder()
+                .text(text)
+                .answerType(AnswerType.TEXT)
+                .submittedAt(submittedAt)
+                .question(question)
+                .user(user)
+                .score(score)
+                .build());
+        answerFeedbackRepository.save(new AnswerFeedback(answer.getId(), submittedAt, "Feedback on " + text));
+        return answer;
+    }
+
+    private AnswerAttempt attempt(User user, Question question, Instant submittedAt, String text) {
+        return answerAttemptRepository.save(AnswerAttempt.builder()
+                .text(text)
+                .answerType(AnswerType.TEXT)
+                .submittedAt(submittedAt)
+                .question(question)
+                .user(user)
+                .build());
+    }
+}
@@ -0,0 +1,199 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.dto.AnswerRequest;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.AnswerRepository;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.AnswerService;
+import com.prepmentor.backend.service.OpenAIService;
+import com.prepmentor.backend.util.S3Uploader;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keeps the number of SQL statements issued by answer submission within a
+ * fixed budget, checks that every submission is kept as an attempt, and that
+ * concurrent submissions leave a single answer, and that answer files are
+ * uploaded without holding a transaction.
+ */
+@DisabledInAotMode
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AnswerSubmissionQueryCountTest {
+
+    private static final String EMAIL = "submit@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private OpenAIService openAIService;
+
+    @MockitoBean
+    private S3Uploader s3Uploader;
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void submitAnswer_staysWithinStatementBudget() throws Exception {
+        User user = userRepository.save(TestFixtures.user("Submit User", EMAIL));
+        List<Question> questions = createQuestions(user, 1);
+        Long questionId = questions.get(0).getId();
+        Mockito.when(openAIService.generateFeedback(Mockito.eq("Question 1"), Mockito.anyString()))
+                .thenReturn(CompletableFuture.completedFuture("Score (overall, out of 5): 2\nCorrectness (0-5): 2\n"
+                        + "Completeness (0-5): 1\nClarity (0-5): 3\nFeedback: Add an example."));
+
+        String body = "{\"questionId\": " + questionId + ", \"answerType\": \"TEXT\", \"answerText\": \"First\"}";
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // user id, question text + current answer, attempt insert, upsert, new
+        // answer id, attempt scores, scores, feedback upsert, statistics row
+        // insert-if-absent + lock, and filling it (summary, low scores, update)
+        statistics.clear();
+        MvcResult first = mockMvc.perform(post("/api/answers").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.questionText").value("Question 1"))
+                .andExpect(jsonPath("$.data.score").value(2));
+        long firstSubmission = statistics.getPrepareStatementCount();
+        Assertions.assertTrue(firstSubmission <= 13, "First submission issued " + firstSubmission + " statements");
+
+        // user id, question text + current answer, answer lock, attempt insert,
+        // upsert, statistics insert-if-absent + lock + low score refill + update
+        // (removal), attempt scores, scores, feedback upsert, statistics
+        // insert-if-absent + lock + update (new score)
+        statistics.clear();
+        MvcResult second = mockMvc.perform(post("/api/answers").contentType(MediaType.APPLICATION_JSON)
+                .content(body.replace("First", "Second")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Answer updated successfully"));
+        long resubmission = statistics.getPrepareStatementCount();
+        Assertions.assertTrue(resubmission <= 15, "Re-submission issued " + resubmission + " statements");
+
+        Long answerId = answerRepository.findIdByUserIdAndQuestionId(user.getId(), questionId).orElseThrow();
+        Assertions.assertEquals("Second", answerRepository.findById(answerId).orElseThrow().getText());
+
+        // Both attempts are kept with their own scores
+        mockMvc.perform(get("/api/answers/" + questionId + "/attempts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].text").value("First"))
+                .andExpect(jsonPath("$.data[0].score").value(2))
+                .andExpect(jsonPath("$.data[1].text").value("Second"))
+                .andExpect(jsonPath("$.data[1].clarity").value(3));
+    }
+
+    @Test
+    void concurrentSubmissions_leaveSingleAnswer() throws Exception {
+        User user = userRepository.save(TestFixtures.user("Race User", "race@example.com"));
+        Long questionId = createQuestions(user, 1).get(0).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Object[]>> submissions = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                AnswerRequest request = new AnswerRequest();
+                request.setQuestionId(questionId);
+                request.setAnswerType("TEXT");
+                request.setAnswerText("Attempt " + i);
+                submissions.add(() -> answerService.handleAnswerUpload(request, user.getId()));
+            }
+            for (var result : executor.invokeAll(submissions)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertTrue(answerRepository.findIdByUserIdAndQuestionId(user.getId(), questionId).isPresent());
+        Assertions.assertEquals(1, answerRepository.findAll().stream()
+                .filter(answer -> answer.getText() != null && answer.getText().startsWith("Attempt "))
+                .count());
+    }
+
+    @Test
+    void fileUpload_happensOutsideTheTransaction() {
+        User user = userRepository.save(TestFixtures.user("Upload User", "upload@example.com"));
+        Long questionId = createQuestions(user, 1).get(0).getId();
+        Mockito.when(s3Uploader.uploadBase64File(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(invocation -> {
+                    // No connection or answer row lock is held during the upload
+                    Assertions.assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+                    return "https://test-bucket.s3.us-east-1.amazonaws.com/answers/a.wav";
+                });
+
+        AnswerRequest request = new AnswerRequest();
+        request.setQuestionId(questionId);
+        request.setAnswerType("AUDIO");
+        request.setFileBase64("UklGRg==");
+        request.setFileType("audio/wav");
+        request.setFilename("a.wav");
+        answerService.handleAnswerUpload(request, user.getId());
+
+        Long answerId = answerRepository.findIdByUserIdAndQuestionId(user.getId(), questionId).orElseThrow();
+        Assertions.assertEquals("https://test-bucket.s3.us-east-1.amazonaws.com/answers/a.wav",
+                answerRepository.findById(answerId).orElseThrow().getFileUrl());
+
+        // Nothing is uploaded for a question that does not exist
+        request.setQuestionId(-1L);
+        Assertions.assertThrows(ResponseStatusException.class,
+                () -> answerService.handleAnswerUpload(request, user.getId()));
+        Mockito.verify(s3Uploader, Mockito.times(1))
+                .uploadBase64File(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+    }
+
+    private List<Question> createQuestions(User user, int count) {
+        return questionSetRepository.save(TestFixtures.publishedSet(user, "Submission set",
+                TestFixtures.numbered("Question", count))).getQuestions();
+    }
+}
@@ -0,0 +1,145 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.config.JwtUtil;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.QuestionRepository;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies that the asynchronous answer endpoint keeps more OpenAI calls in
+ * flight than there are request threads, and that generation saves its draft.
+ * A blocking controller could have at most one OpenAI call in flight per Tomcat
+ * thread; here Tomcat is capped at a few threads and a stub OpenAI answers only
+ * once far more evaluations than that are waiting. No throughput is measured.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + AsyncEndpointConcurrencyTest.TOMCAT_THREADS,
+        "server.tomcat.threads.min-spare=1",
+        "queue.capacity=" + 2 * AsyncEndpointConcurrencyTest.IN_FLIGHT })
+public class AsyncEndpointConcurrencyTest {
+
+    static final int TOMCAT_THREADS = 4;
+
+    /**
+     * Evaluations the stub OpenAI waits for before answering any of them; the task
+     * queue holds the completion and the budget reconciliation of them all.
+     */
+    static final int IN_FLIGHT = 16 * TOMCAT_THREADS;
+
+    private static final CountDownLatch evaluationsWaiting = new CountDownLatch(IN_FLIGHT);
+
+    /** Holds every evaluation until {@link #IN_FLIGHT} of them are waiting; generations answer at once. */
+    private static final OpenAIStub openAI = new OpenAIStub(request -> {
+        if (OpenAIStub.isGeneration(request)) {
+            return "1. What is a future?\n2. What is a callback?";
+        }
+        evaluationsWaiting.countDown();
+        try {
+            evaluationsWaiting.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return OpenAIStub.evaluation(4, "Clear.");
+    });
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @DynamicPropertySource
+    static void openAIUrl(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.url", openAI::url);
+    }
+
+    @AfterAll
+    static void stopStubOpenAI() {
+        openAI.close();
+    }
+
+    @Test
+    void answerEvaluationsInFlight_exceedRequestThreads() throws Exception {
+        User owner = userRepository.save(TestFixtures.user("Async Owner", "async-owner@example.com"));
+        Long questionId = questionSetRepository.save(TestFixtures.publishedSet(owner, "Async set",
+                List.of("What is backpressure?"))).getQuestions().get(0).getId();
+        List<User> users = userRepository.saveAll(TestFixtures.users("Async User", "async", IN_FLIGHT));
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (User user : users) {
+            String body = "{\"questionId\": " + questionId + ", \"answerType\": \"TEXT\", \"answerText\": \"Buffers\"}";
+            responses.add(client.sendAsync(post("/api/answers", user, body), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // Blocking controllers would stall here with TOMCAT_THREADS evaluations waiting
+        Assertions.assertTrue(evaluationsWaiting.await(1, TimeUnit.MINUTES),
+                (IN_FLIGHT - evaluationsWaiting.getCount()) + " of " + IN_FLIGHT + " evaluations got in flight on "
+                        + TOMCAT_THREADS + " request threads");
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            HttpResponse<String> result = response.get(1, TimeUnit.MINUTES);
+            Assertions.assertEquals(200, result.statusCode());
+            Assertions.assertTrue(result.body().contains("\"score\":4"), result.body());
+        }
+    }
+
+    @Test
+    void generate_savesDraftFromAsyncOpenAICall() throws Exception {
+        User user = userRepository.save(TestFixtures.user("Async Generator", "async-generator@example.com"));
+        String body = "{\"name\": \"Async draft\", \"type\": \"Concurrency\", \"difficulty\": \"EASY\", "
+                + "\"tags\": \"async\", \"quantity\": 2}";
+
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(post("/api/question-sets/generate", user, body), HttpResponse.BodyHandlers.ofString());
+
+        Assertions.assertEquals(200, response.statusCode(), response.body());
+        Assertions.assertTrue(response.body().contains("Questions generated and saved as draft"), response.body());
+        Long setId = Long.valueOf(response.body().replaceAll(".*\"data\":(\\d+).*", "$1"));
+        Assertions.assertEquals(List.of("What is a future?", "What is a callback?"),
+                questionRepository.findByQuestionSetId(setId).stream().map(Question::getText).toList());
+
+        HttpResponse<String> anonymous = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/question-sets/generate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(403, anonymous.statusCode());
+    }
+
+    private HttpRequest post(String path, User user, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(user.getEmail()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
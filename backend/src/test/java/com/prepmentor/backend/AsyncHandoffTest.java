@@ -0,0 +1,53 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.exception.ServiceBusyException;
+import com.prepmentor.backend.util.AsyncHandoff;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies that continuations handed to a saturated executor fail with a
+ * ServiceBusyException instead of running on the completing thread or never
+ * completing.
+ */
+public class AsyncHandoffTest {
+
+    private static final Executor SATURATED = task -> {
+        throw new RejectedExecutionException("full");
+    };
+
+    @Test
+    void rejectedContinuations_failWithServiceBusy() throws Exception {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> handled = AsyncHandoff.handleOn(source, (value, error) -> value, SATURATED);
+        CompletableFuture<String> applied = AsyncHandoff.applyOn(source, value -> value, SATURATED);
+
+        source.complete("done");
+
+        for (CompletableFuture<String> result : List.of(handled, applied)) {
+            ExecutionException failure = Assertions.assertThrows(ExecutionException.class,
+                    () -> result.get(1, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(ServiceBusyException.class, failure.getCause());
+        }
+    }
+
+    @Test
+    void continuations_runOnTheExecutorAndSeeTheSourceFailure() throws Exception {
+        Executor direct = Runnable::run;
+        CompletableFuture<String> source = CompletableFuture.failedFuture(new IOException("down"));
+
+        Assertions.assertEquals("IOException", AsyncHandoff.handleOn(source.thenApply(String::trim),
+                (value, error) -> error.getClass().getSimpleName(), direct).get(1, TimeUnit.SECONDS));
+        ExecutionException failure = Assertions.assertThrows(ExecutionException.class,
+                () -> AsyncHandoff.applyOn(source, String::trim, direct).get(1, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IOException.class, failure.getCause());
+    }
+}
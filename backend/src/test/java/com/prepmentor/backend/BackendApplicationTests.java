@@ -1,13 +1,36 @@
 package com.prepmentor.backend;
 
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.Arrays;
+import java.util.List;
+
 @SpringBootTest
+@AutoConfigureMockMvc
 class BackendApplicationTests {
 
+	@Autowired
+	private Flyway flyway;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void javaMigrations_areRegisteredAndAppliedOnce() {
+		Assertions.assertEquals(2, flyway.getConfiguration().getJavaMigrations().length);
+		List<String> applied = Arrays.stream(flyway.info().applied())
+				.map(MigrationInfo::getScript)
+				.filter(script -> script.startsWith("db.migration."))
+				.toList();
+		Assertions.assertEquals(List.of("db.migration.V6__BackfillQuestionSearchIndex",
+				"db.migration.V8__BackfillQuestionLookups"), applied);
+	}
+
 }
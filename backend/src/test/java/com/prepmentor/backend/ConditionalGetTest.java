@@ -0,0 +1,102 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.dto.QuestionSetRequest;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.QuestionSetService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that question and question set reads carry version-based ETags and
+ * Cache-Control headers, and that revalidating an unchanged copy is answered
+ * with 304 without reading the set or its questions from the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionSetService questionSetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @WithMockUser(username = "etag@example.com")
+    void questionSetReads_areRevalidatedByVersion() throws Exception {
+        User user = userRepository.save(TestFixtures.user("ETag User", "etag@example.com"));
+        QuestionSetRequest req = new QuestionSetRequest();
+        req.setName("Conditional set");
+        req.setType("Http");
+        req.setDifficulty("MEDIUM");
+        req.setTags("etag");
+        Long setId = questionSetService.createDraftQuestionSet(req, user.getId(),
+                List.of("What is a weak ETag?", "When is a 304 sent?"));
+
+        String draftTag = mockMvc.perform(get("/api/question-sets/" + setId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.data.questions.length()").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertEquals("\"question-set-" + setId + "-0\"", draftTag);
+
+        // An unchanged set is answered from its cached version only
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/question-sets/" + setId).header(HttpHeaders.IF_NONE_MATCH, draftTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, draftTag))
+                .andExpect(content().string(""));
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+        String questionsTag = mockMvc.perform(get("/api/questions/" + setId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/questions/" + setId).header(HttpHeaders.IF_NONE_MATCH, questionsTag))
+                .andExpect(status().isNotModified());
+
+        String listTag = mockMvc.perform(get("/api/questions"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+        mockMvc.perform(get("/api/questions").header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isNotModified());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Publishing bumps the version, so every cached copy is stale
+        questionSetService.confirmQuestionSet(setId);
+        mockMvc.perform(get("/api/question-sets/" + setId).header(HttpHeaders.IF_NONE_MATCH, draftTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"question-set-" + setId + "-1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, private"))
+                .andExpect(jsonPath("$.data.status").value("PUBLISHED"));
+        mockMvc.perform(get("/api/questions/" + setId).header(HttpHeaders.IF_NONE_MATCH, questionsTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions").header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isOk());
+    }
+}
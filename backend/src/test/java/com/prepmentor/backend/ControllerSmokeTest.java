@@ -0,0 +1,150 @@
+package com.prepmentor.backend;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls every controller over HTTP, with local stand-ins for OpenAI and S3. Uses
+ * no mocks, so it also runs as a native image ({@code ./gradlew nativeTest -Pnative})
+ * to check the reachability metadata of the whole request path.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ControllerSmokeTest {
+
+    private static final String EMAIL = "smoke@example.com";
+
+    private static final AtomicInteger s3Uploads = new AtomicInteger();
+
+    /** Also stands in for S3, whose uploads it counts. */
+    private static final OpenAIStub standIn = OpenAIStub
+            .answering(List.of("What is a smoke test?", "What is a stand-in?"), OpenAIStub.evaluation(4, "Fine."))
+            .serve("/", ControllerSmokeTest::putObject);
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @DynamicPropertySource
+    static void standInUrls(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.url", standIn::url);
+        registry.add("aws.s3.endpoint", standIn::url);
+    }
+
+    @AfterAll
+    static void stopStandIn() {
+        standIn.close();
+    }
+
+    @Test
+    void everyController_servesItsEndpoints() throws Exception {
+        send("POST", "/api/register", null,
+                "{\"name\": \"Smoke User\", \"email\": \"" + EMAIL + "\", \"password\": \"secret\"}");
+        String login = send("POST", "/api/login", null,
+                "{\"email\": \"" + EMAIL + "\", \"password\": \"secret\"}");
+        String token = field(login, "token");
+
+        String generated = send("POST", "/api/question-sets/generate", token,
+                "{\"name\": \"Smoke set\", \"type\": \"Smoke\", \"difficulty\": \"EASY\", \"tags\": \"smoke\", "
+                        + "\"quantity\": 2}");
+        String setId = generated.replaceAll(".*\"data\":(\\d+).*", "$1");
+        send("POST", "/api/question-sets/" + setId + "/confirm", token, null);
+        send("GET", "/api/question-sets", token, null);
+        String set = send("GET", "/api/question-sets/" + setId, token, null);
+        Assertions.assertTrue(set.contains("What is a smoke test?"), set);
+
+        String questions = send("GET", "/api/questions/" + setId, token, null);
+        String questionId = field(questions, "id");
+        send("GET", "/api/questions?type=Smoke", token, null);
+        send("GET", "/api/questions?cursor=&includeTotal=true", token, null);
+        send("GET", "/api/questions/search?q=smoke", token, null);
+
+        String answer = send("POST", "/api/answers", token,
+                "{\"questionId\": " + questionId + ", \"answerType\": \"TEXT\", \"answerText\": \"A quick check\"}");
+        Assertions.assertTrue(answer.contains("\"score\":4"), answer);
+        String audio = Base64.getEncoder().encodeToString("RIFF".getBytes(StandardCharsets.UTF_8));
+        send("POST", "/api/answers", token, "{\"questionId\": " + questionId + ", \"answerType\": \"AUDIO\", "
+                + "\"fileBase64\": \"" + audio + "\", \"fileType\": \"audio/wav\", \"filename\": \"a.wav\"}");
+        Assertions.assertEquals(1, s3Uploads.get());
+        send("GET", "/api/answers/" + questionId, token, null);
+        send("GET", "/api/answers/" + questionId + "/attempts", token, null);
+
+        send("GET", "/api/dashboard", token, null);
+        Assertions.assertTrue(send("GET", "/api/users/profile", token, null).contains(EMAIL));
+        send("GET", "/api/users", token, null);
+    }
+
+    private String send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, response.statusCode(), method + " " + path + ": " + response.body());
+        return response.body();
+    }
+
+    private static String field(String json, String name) {
+        return json.replaceAll("(?s).*?\"" + name + "\":\"?([^\",}]+).*", "$1");
+    }
+
+    private static void putObject(HttpExchange exchange) throws IOException {
+        byte[] object = exchange.getRequestBody().readAllBytes();
+        if (exchange.getRequestHeaders().containsKey("x-amz-decoded-content-length")) {
+            object = decodeAwsChunked(object);
+        }
+        s3Uploads.incrementAndGet();
+        try {
+            // The SDK checks the returned ETag against the MD5 of what it sent
+            String eTag = HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(object));
+            exchange.getResponseHeaders().add("ETag", "\"" + eTag + "\"");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+
+    /** Strips the chunk headers of an aws-chunked body: {@code <hex size>;chunk-signature=...\r\n<data>\r\n}. */
+    private static byte[] decodeAwsChunked(byte[] body) {
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        int pos = 0;
+        while (pos < body.length) {
+            int lineEnd = pos;
+            while (body[lineEnd] != '\r') {
+                lineEnd++;
+            }
+            String header = new String(body, pos, lineEnd - pos, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0], 16);
+            if (size == 0) {
+                break;
+            }
+            object.write(body, lineEnd + 2, size);
+            pos = lineEnd + 2 + size + 2;
+        }
+        return object.toByteArray();
+    }
+}
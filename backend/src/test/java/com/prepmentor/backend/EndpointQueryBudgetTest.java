@@ -0,0 +1,157 @@
+package com.prepmentor.backend;
+
+import com.jayway.jsonpath.JsonPath;
+import com.prepmentor.backend.enums.AnswerType;
+import com.prepmentor.backend.model.Answer;
+import com.prepmentor.backend.model.AnswerFeedback;
+import com.prepmentor.backend.model.Difficulty;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.QuestionSet;
+import com.prepmentor.backend.model.QuestionType;
+import com.prepmentor.backend.model.Tag;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.model.UserStats;
+import com.prepmentor.backend.repository.AnswerFeedbackRepository;
+import com.prepmentor.backend.repository.AnswerRepository;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.repository.UserStatsRepository;
+import com.prepmentor.backend.service.LookupService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keeps the number of SQL statements issued by each read endpoint within a
+ * fixed budget, so lazy-loading regressions show up as test failures.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class EndpointQueryBudgetTest {
+
+    private static final String EMAIL = "budget@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private AnswerFeedbackRepository answerFeedbackRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void readEndpointsStayWithinStatementBudget() throws Exception {
+        User user = userRepository.save(TestFixtures.user("Budget User", EMAIL));
+
+        QuestionType type = lookupService.resolveType("Rust");
+        Difficulty difficulty = lookupService.resolveDifficulty("EASY");
+        Set<Tag> tags = lookupService.resolveTags("rust");
+
+        QuestionSet qs = TestFixtures.publishedSet(user, "Budget set", TestFixtures.numbered("Question", 3));
+        qs.setType(type);
+        qs.setDifficulty(difficulty);
+        qs.setTags("rust");
+        for (Question question : qs.getQuestions()) {
+            question.setType(type);
+            question.setDifficulty(difficulty);
+            question.setTags(new HashSet<>(tags));
+        }
+        List<Question> questions = questionSetRepository.save(qs).getQuestions();
+
+        Answer answer = answerRepository.save(Answer.builder()
+                .text("An answer")
+                .answerType(AnswerType.TEXT)
+                .submittedAt(Instant.now())
+                .question(questions.get(0))
+                .user(user)
+                .score(1)
+                .build());
+        answerFeedbackRepository.save(new AnswerFeedback(answer.getId(), answer.getSubmittedAt(), "Needs more detail."));
+        userStatsRepository.save(UserStats.builder().userId(user.getId()).scoredCount(1).scoreTotal(1).build());
+
+        Map<String, Long> budgets = new LinkedHashMap<>();
+        budgets.put("/api/answers/" + questions.get(0).getId(), 2L);
+        budgets.put("/api/dashboard", 2L);
+        // The first list read also computes the list ETag; later ones find it in the query cache
+        budgets.put("/api/questions?page=0&size=10", 3L);
+        budgets.put("/api/questions?cursor=&size=10", 1L);
+        budgets.put("/api/questions?page=0&size=10&type=rust&difficulty=easy&tag=rust", 2L);
+        budgets.put("/api/questions/" + qs.getId(), 2L);
+        budgets.put("/api/question-sets", 2L);
+        budgets.put("/api/question-sets/" + qs.getId(), 1L);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (Map.Entry<String, Long> budget : budgets.entrySet()) {
+            statistics.clear();
+            mockMvc.perform(get(budget.getKey())).andExpect(status().isOk());
+            long statements = statistics.getPrepareStatementCount();
+            Assertions.assertTrue(statements <= budget.getValue(),
+                    "GET " + budget.getKey() + " issued " + statements + " statements, budget is " + budget.getValue());
+        }
+
+        mockMvc.perform(get("/api/answers/" + questions.get(0).getId()))
+                .andExpect(jsonPath("$.data.feedback").value("Needs more detail."));
+
+        mockMvc.perform(get("/api/question-sets"))
+                .andExpect(jsonPath("$.data.content[0].questionCount").value(3))
+                .andExpect(jsonPath("$.data.content[0].questions").doesNotExist());
+
+        String firstPage = mockMvc.perform(get("/api/questions?cursor=&size=2&type=rust&includeTotal=true"))
+                .andExpect(jsonPath("$.data.content.length()").value(2))
+                .andExpect(jsonPath("$.data.content[0].id").value(questions.get(0).getId()))
+                .andExpect(jsonPath("$.data.content[0].type").value("Rust"))
+                .andExpect(jsonPath("$.data.content[0].tags").value("rust"))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalElements").value(3))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.data.nextCursor");
+
+        statistics.clear();
+        mockMvc.perform(get("/api/questions").param("cursor", nextCursor).param("size", "2").param("type", "rust"))
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].id").value(questions.get(2).getId()))
+                .andExpect(jsonPath("$.data.hasNext").value(false))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/api/questions?cursor=not-a-cursor")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/questions?page=0&size=10&tag=no-such-tag"))
+                .andExpect(jsonPath("$.data.content.length()").value(0));
+    }
+}
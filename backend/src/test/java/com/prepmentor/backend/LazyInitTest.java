@@ -0,0 +1,41 @@
+package com.prepmentor.backend;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that with lazy initialization enabled, the OpenAPI document and the
+ * S3 client are not built at startup but still serve their first use.
+ */
+@SpringBootTest(properties = "startup.lazy-init.enabled=true")
+@AutoConfigureMockMvc
+public class LazyInitTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void nonCriticalBeans_areCreatedOnFirstUse() throws Exception {
+        for (String name : new String[] { "openApiResource", "openAPIBuilder", "s3Client" }) {
+            Assertions.assertTrue(context.getBeanFactory().getBeanDefinition(name).isLazyInit(), name);
+            Assertions.assertFalse(context.getBeanFactory().containsSingleton(name), name + " created at startup");
+        }
+
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openapi").exists());
+        Assertions.assertTrue(context.getBeanFactory().containsSingleton("openApiResource"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.prepmentor.backend;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.prepmentor.backend.config.RequestIdFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares what logging costs a request thread with the former configuration,
+ * synchronous file output with caller data, against the current one of
+ * logback-spring.xml: JSON lines without caller data behind a bounded async
+ * queue. A request logs three INFO lines with its request id in the MDC. The
+ * requests follow each other without pause, so the async queue stays full and
+ * sheds most INFO lines, which the report shows as lines written. Run
+ * with {@code ./gradlew loggingBenchmark}; the report is written to
+ * {@code build/reports/logging.txt}.
+ */
+@Tag("logging")
+public class LoggingBenchmarkTest {
+
+    private static final int WARMUP_REQUESTS = 20_000;
+
+    private static final int REQUESTS = 50_000;
+
+    private static final int LINES_PER_REQUEST = 3;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void asyncStructuredLogging_costsLessPerRequest() throws Exception {
+        Result callerData = measure("sync, pattern with %C and %L", file -> file,
+                context -> pattern(context, "%d{yyyy-MM-dd HH:mm:ss.SSS} %-5p %C{1}:%L - %m%n"));
+        Result structured = measure("sync, JSON without caller data", file -> file, LoggingBenchmarkTest::json);
+        Result async = measure("async queue, JSON without caller data", LoggingBenchmarkTest::async,
+                LoggingBenchmarkTest::json);
+
+        List<String> report = new ArrayList<>();
+        report.add(REQUESTS + " requests of " + LINES_PER_REQUEST + " INFO lines each");
+        for (Result result : List.of(callerData, structured, async)) {
+            report.add(String.format("%-40s %7.2f us per request, %d of %d lines written", result.name,
+                    result.nanosPerRequest / 1000.0, result.linesWritten, REQUESTS * LINES_PER_REQUEST));
+        }
+        String path = System.getProperty("logging.report");
+        if (path != null) {
+            Files.createDirectories(Path.of(path).getParent());
+            Files.write(Path.of(path), report);
+        }
+        report.forEach(System.out::println);
+
+        Assertions.assertTrue(structured.nanosPerRequest < callerData.nanosPerRequest, String.join("\n", report));
+        Assertions.assertTrue(async.nanosPerRequest < callerData.nanosPerRequest, String.join("\n", report));
+    }
+
+    /**
+     * Logs the warm-up and the measured requests through a fresh logger context
+     * writing to its own file, which is counted after the context is stopped
+     * and its queues flushed.
+     */
+    private Result measure(String name, Function<Appender<ILoggingEvent>, Appender<ILoggingEvent>> wrap,
+                           Function<LoggerContext, Encoder<ILoggingEvent>> encoder) throws IOException {
+        Path warmupFile = dir.resolve(name.hashCode() + "-warmup.log");
+        run(wrap, encoder, warmupFile, WARMUP_REQUESTS);
+        Path file = dir.resolve(name.hashCode() + ".log");
+        long nanos = run(wrap, encoder, file, REQUESTS);
+        long lines;
+        try (var stream = Files.lines(file)) {
+            lines = stream.count();
+        }
+        return new Result(name, (double) nanos / REQUESTS, lines);
+    }
+
+    private static long run(Function<Appender<ILoggingEvent>, Appender<ILoggingEvent>> wrap,
+                            Function<LoggerContext, Encoder<ILoggingEvent>> encoder, Path path, int requests) {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        // The structured encoder reads its settings from the Spring environment
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(path.toString());
+        file.setEncoder(encoder.apply(context));
+        file.start();
+        Appender<ILoggingEvent> appender = wrap.apply(file);
+        Logger logger = context.getLogger("com.prepmentor.backend.controller.AnswerController");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            MDC.put(RequestIdFilter.MDC_KEY, Long.toHexString(0x1000000000000000L + i));
+            try {
+                logger.info("Submitting answer for user {} and question {}", "bench@example.com", i);
+                logger.info("Answer uploaded to {}", "answers/bench/" + i + ".wav");
+                logger.info("Answer {} evaluated with score {}", i, i % 5);
+            } finally {
+                MDC.remove(RequestIdFilter.MDC_KEY);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        context.stop();
+        return elapsed;
+    }
+
+    private static Encoder<ILoggingEvent> pattern(LoggerContext context, String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.start();
+        return encoder;
+    }
+
+    private static Encoder<ILoggingEvent> json(LoggerContext context) {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+        return encoder;
+    }
+
+    /** Wraps the file appender like the ASYNC_FILE appender of logback-spring.xml. */
+    private static Appender<ILoggingEvent> async(Appender<ILoggingEvent> file) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(file.getContext());
+        async.setQueueSize(1024);
+        async.setDiscardingThreshold(256);
+        async.setIncludeCallerData(false);
+        async.addAppender(file);
+        async.start();
+        return async;
+    }
+
+    private static class Result {
+        private final String name;
+        private final double nanosPerRequest;
+        private final long linesWritten;
+
+        Result(String name, double nanosPerRequest, long linesWritten) {
+            this.name = name;
+            this.nanosPerRequest = nanosPerRequest;
+            this.linesWritten = linesWritten;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.config.JwtUtil;
+import com.prepmentor.backend.dto.QuestionSetRequest;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.QuestionRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.QuestionSetService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the lowmem profile drops Swagger and the unused
+ * auto-configurations and shrinks the pools, while the API keeps working.
+ * <p>
+ * The memory-tagged test runs a scripted workload against the profile and fails
+ * if the resident set size of the process afterwards exceeds a budget. Run with
+ * {@code ./gradlew memoryBenchmark [-PrssBudgetMb=N]}, which starts the JVM with
+ * the profile's options in a simulated 512 MB container; the report is written
+ * to {@code build/reports/memory.txt}. Linux only. The RSS includes the test
+ * worker, H2 and the HTTP client, so the budget sits above a deployed instance.
+ */
+@ActiveProfiles("lowmem")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "rate-limit.answers.capacity=" + LowMemoryProfileTest.ROUNDS)
+@AutoConfigureMockMvc
+public class LowMemoryProfileTest {
+
+    private static final int USERS = 20;
+
+    /** Requests per user and round: four reads and an answer submission. */
+    static final int ROUNDS = 15;
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    /** Evaluates every answer alike. */
+    private static final OpenAIStub openAI = new OpenAIStub(request -> OpenAIStub.evaluation(3, "Ok."));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetService questionSetService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @DynamicPropertySource
+    static void openAIUrl(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.url", openAI::url);
+    }
+
+    @AfterAll
+    static void stopStubOpenAI() {
+        openAI.close();
+    }
+
+    @Test
+    @WithMockUser(username = "lowmem@example.com")
+    void profile_trimsBeansAndPools() throws Exception {
+        Assertions.assertFalse(context.containsBean("openApiResource"));
+        Assertions.assertEquals(0, context.getBeanNamesForType(RestTemplateBuilder.class).length);
+        Assertions.assertEquals(6, dataSource.getMaximumPoolSize());
+        Assertions.assertEquals(4, ((ThreadPoolTaskExecutor) taskExecutor).getMaxPoolSize());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v3/api-docs")).andExpect(status().isNotFound());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/questions")).andExpect(status().isOk());
+    }
+
+    @Test
+    @Tag("memory")
+    void residentMemory_staysWithinBudgetAfterWorkload() throws Exception {
+        Assumptions.assumeTrue(Files.isReadable(PROC_STATUS), "Needs /proc to read the resident set size");
+        long budgetMb = Long.getLong("memory.rss-budget-mb", 450);
+
+        List<User> users = userRepository.saveAll(TestFixtures.users("Memory User", "memory", USERS));
+        QuestionSetRequest req = new QuestionSetRequest();
+        req.setName("Memory set");
+        req.setType("Memory");
+        req.setDifficulty("MEDIUM");
+        req.setTags("memory,footprint");
+        List<String> texts = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            texts.add("What does memory question " + i + " ask?");
+        }
+        Long setId = questionSetService.createDraftQuestionSet(req, users.get(0).getId(), texts);
+        questionSetService.confirmQuestionSet(setId);
+        List<Long> questionIds = questionRepository.findByQuestionSetId(setId).stream().map(Question::getId).toList();
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (User user : users) {
+                String token = jwtUtil.generateToken(user.getEmail());
+                responses.add(client.sendAsync(get("/api/questions?page=" + round % 3, token), ofString()));
+                responses.add(client.sendAsync(get("/api/questions/" + setId, token), ofString()));
+                responses.add(client.sendAsync(get("/api/question-sets/" + setId, token), ofString()));
+                responses.add(client.sendAsync(get("/api/questions/search?q=memory", token), ofString()));
+                String body = "{\"questionId\": " + questionIds.get(round % questionIds.size())
+                        + ", \"answerType\": \"TEXT\", \"answerText\": \"Answer " + round + "\"}";
+                responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/api/answers"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(), ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                HttpResponse<String> result = response.get(1, TimeUnit.MINUTES);
+                Assertions.assertEquals(200, result.statusCode(), result.uri() + ": " + result.body());
+            }
+        }
+
+        // Steady state: garbage collected and the request threads idle again
+        System.gc();
+        Thread.sleep(2000);
+        System.gc();
+        long rssMb = residentSetSizeKb() / 1024;
+
+        List<String> report = new ArrayList<>();
+        report.add("RSS " + rssMb + " MB (budget " + budgetMb + " MB) after " + USERS * ROUNDS * 5 + " requests");
+        report.add(usage("Heap", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()));
+        report.add(usage("Non-heap", ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage()));
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            report.add(usage("  " + pool.getName(), pool.getUsage()));
+        }
+        report.add("Threads " + ManagementFactory.getThreadMXBean().getThreadCount());
+        String path = System.getProperty("memory.report");
+        if (path != null) {
+            Files.createDirectories(Path.of(path).getParent());
+            Files.write(Path.of(path), report);
+        }
+        report.forEach(System.out::println);
+        Assertions.assertTrue(rssMb <= budgetMb, "RSS " + rssMb + " MB exceeds the budget of " + budgetMb + " MB");
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static HttpResponse.BodyHandler<String> ofString() {
+        return HttpResponse.BodyHandlers.ofString();
+    }
+
+    private static long residentSetSizeKb() throws IOException {
+        return Files.readAllLines(PROC_STATUS).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String usage(String name, MemoryUsage usage) {
+        return String.format("%-36s used %4d MB, committed %4d MB", name, usage.getUsed() >> 20,
+                usage.getCommitted() >> 20);
+    }
+}
@@ -0,0 +1,98 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.config.JwtUtil;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.util.S3Uploader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Verifies that the Prometheus endpoint is served on the management port
+ * only, without a token there, and serves the request latency histograms tagged by controller, the pool,
+ * executor and JVM metrics, and the S3 upload timer.
+ */
+@DisabledInAotMode
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+public class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private S3Uploader s3Uploader;
+
+    @MockitoBean
+    private S3Client s3Client;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void prometheusEndpoint_servesApplicationMetrics() throws Exception {
+        User user = userRepository.save(TestFixtures.user("Metrics User", "metrics@example.com"));
+        HttpResponse<String> questions = client.send(HttpRequest.newBuilder(uri("/api/questions"))
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(user.getEmail()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(200, questions.statusCode());
+        s3Uploader.uploadBase64File(Base64.getEncoder().encodeToString("RIFF".getBytes(StandardCharsets.UTF_8)),
+                "a.wav", "audio/wav");
+
+        // Only the probes are served on the public port
+        Assertions.assertEquals(200, get(port, "/readyz").statusCode());
+        Assertions.assertNotEquals(200, get(port, "/actuator/prometheus").statusCode());
+
+        HttpResponse<String> response = get(managementPort, "/actuator/prometheus");
+        Assertions.assertEquals(200, response.statusCode());
+        String metrics = response.body();
+
+        Assertions.assertTrue(metrics.lines().anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                && line.contains("controller=\"QuestionController\"") && line.contains("status=\"200\"")
+                && line.contains("uri=\"/api/questions\"")), "No latency histogram of the questions endpoint");
+        Assertions.assertTrue(metrics.contains("hikaricp_connections_pending{"), "No Hikari metrics");
+        Assertions.assertTrue(metrics.contains("tomcat_threads_busy_threads{"), "No Tomcat thread metrics");
+        Assertions.assertTrue(metrics.contains("jvm_memory_used_bytes{"), "No JVM metrics");
+        Assertions.assertTrue(metrics.contains("jvm_gc_"), "No GC metrics");
+        Assertions.assertTrue(metrics.lines().anyMatch(line -> line.startsWith("executor_active_threads{")
+                && line.contains("name=\"taskExecutor\"")), "No active count of the task executor");
+        Assertions.assertTrue(metrics.lines().anyMatch(line -> line.startsWith("executor_queued_tasks{")
+                && line.contains("name=\"taskExecutor\"")), "No queue size of the task executor");
+        Assertions.assertTrue(metrics.lines().anyMatch(line -> line.startsWith("s3_upload_seconds_count{")
+                && line.contains("outcome=\"SUCCESS\"") && line.endsWith(" 1")), "No S3 upload timing");
+        Assertions.assertTrue(metrics.contains("s3_upload_seconds_bucket{"), "No S3 upload histogram");
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,40 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.common.ApiResponse;
+import com.prepmentor.backend.config.NativeHintsConfig;
+import com.prepmentor.backend.dto.QuestionSliceResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Verifies the native image hints for the libraries that load classes and
+ * resources by name, and for the JSON payload types.
+ */
+public class NativeHintsTest {
+
+    @Test
+    void hints_coverJwtJCacheAndPayloads() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        Class<? extends RuntimeHintsRegistrar> registrar = NativeHintsConfig.class
+                .getAnnotation(ImportRuntimeHints.class).value()[0];
+        var constructor = registrar.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        constructor.newInstance().registerHints(hints, getClass().getClassLoader());
+
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder")).test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("org.ehcache.jsr107.EhcacheCachingProvider")).test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onMethod(QuestionSliceResponse.class, "getNextCursor")
+                .test(hints));
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection().onType(ApiResponse.class).test(hints));
+    }
+}
@@ -0,0 +1,74 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.config.TaskExecutorConfig;
+import com.prepmentor.backend.service.OpenAIBudgetService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Verifies that the shared OpenAI budget admits calls only within the tokens
+ * and requests per minute, and that reconciling returns unused tokens and the
+ * requests of failed calls.
+ */
+@DataJpaTest(properties = {
+        "openai.budget.tokens-per-minute=1000",
+        "openai.budget.requests-per-minute=3",
+        "openai.budget.max-wait=0s" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ OpenAIBudgetService.class, TaskExecutorConfig.class })
+public class OpenAIBudgetServiceTest {
+
+    @Autowired
+    private OpenAIBudgetService openAIBudgetService;
+
+    @Test
+    void tokensPerWindow_areLimitedAndReconciled() {
+        long window = 1_000;
+
+        Assertions.assertTrue(openAIBudgetService.tryReserve(window, 600));
+        Assertions.assertFalse(openAIBudgetService.tryReserve(window, 600));
+        // Another window has its own budget
+        Assertions.assertTrue(openAIBudgetService.tryReserve(window + 1, 600));
+
+        // The call used less than estimated, which frees room for another
+        openAIBudgetService.reconcile(new OpenAIBudgetService.Reservation(window, 600), 300);
+        Assertions.assertTrue(openAIBudgetService.tryReserve(window, 600));
+    }
+
+    @Test
+    void requestsPerWindow_areLimited() {
+        long window = 2_000;
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(openAIBudgetService.tryReserve(window, 10));
+        }
+        Assertions.assertFalse(openAIBudgetService.tryReserve(window, 10));
+
+        // A failed call gives its request back
+        openAIBudgetService.reconcile(new OpenAIBudgetService.Reservation(window, 10), 0);
+        Assertions.assertTrue(openAIBudgetService.tryReserve(window, 10));
+        Assertions.assertFalse(openAIBudgetService.tryReserve(window, 10));
+    }
+
+    @Test
+    void reserve_failsOnceTheCurrentWindowIsUsedUp() {
+        // Other tests share the database, so the current window may already be in use
+        long window = openAIBudgetService.currentWindow();
+        while (openAIBudgetService.tryReserve(window, 1)) {
+        }
+
+        CompletableFuture<OpenAIBudgetService.Reservation> reservation = openAIBudgetService.reserve(1);
+        Assumptions.assumeTrue(window == openAIBudgetService.currentWindow(), "The window rolled over");
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, reservation::get);
+        Assertions.assertInstanceOf(IOException.class, e.getCause());
+    }
+}
@@ -0,0 +1,85 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.config.OpenAIConfig;
+import com.prepmentor.backend.service.OpenAIBudgetService;
+import com.prepmentor.backend.service.OpenAIService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies that every OpenAI call settles its budget reservation: with the
+ * reported usage when there is one, and by returning all reserved tokens when a
+ * failed call reports none.
+ */
+public class OpenAIServiceTest {
+
+    private final OpenAIBudgetService.Reservation reservation = new OpenAIBudgetService.Reservation(1, 700);
+
+    private final OpenAIBudgetService budgetService = Mockito.mock(OpenAIBudgetService.class);
+
+    private final OpenAIStub openAI = new OpenAIStub(request -> "");
+
+    private OpenAIService openAIService;
+
+    @BeforeEach
+    void startStubOpenAI() {
+        OpenAIConfig config = Mockito.mock(OpenAIConfig.class);
+        Mockito.when(config.getApiUrl()).thenReturn(openAI.url());
+        Mockito.when(config.getApiKey()).thenReturn("test-key");
+        Mockito.when(config.getMaxConcurrentRequests()).thenReturn(4);
+        Mockito.when(budgetService.reserve(Mockito.anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(reservation));
+        // Reconciles on the completing thread, so it is done when the call's future is
+        openAIService = new OpenAIService(config, budgetService, Runnable::run);
+    }
+
+    @AfterEach
+    void stopStubOpenAI() {
+        openAI.close();
+    }
+
+    @Test
+    void success_reconcilesTheReportedUsage() throws Exception {
+        openAI.respond(200, "{\"choices\": [{\"message\": {\"content\": \"Score (overall, out of 5): 4\"}}], "
+                + "\"usage\": {\"total_tokens\": 321}}");
+        Assertions.assertEquals("Score (overall, out of 5): 4",
+                openAIService.generateFeedback("Q", "A").get(10, TimeUnit.SECONDS));
+        Mockito.verify(budgetService).reconcile(reservation, 321);
+    }
+
+    @Test
+    void errorWithoutUsage_returnsTheReservedTokens() {
+        openAI.respond(429, "{\"error\": {\"message\": \"Rate limit reached\"}}");
+        assertFails();
+        Mockito.verify(budgetService).reconcile(reservation, 0);
+    }
+
+    @Test
+    void errorWithUsage_reconcilesOnlyOnce() {
+        openAI.respond(400, "{\"error\": {\"message\": \"Bad request\"}, \"usage\": {\"total_tokens\": 12}}");
+        assertFails();
+        Mockito.verify(budgetService).reconcile(reservation, 12);
+        Mockito.verify(budgetService, Mockito.never()).reconcile(reservation, 0);
+    }
+
+    @Test
+    void unreadableResponse_returnsTheReservedTokens() {
+        openAI.respond(502, "<html>Bad gateway</html>");
+        assertFails();
+        Mockito.verify(budgetService).reconcile(reservation, 0);
+    }
+
+    private void assertFails() {
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> openAIService.generateFeedback("Q", "A").get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IOException.class, e.getCause());
+    }
+}
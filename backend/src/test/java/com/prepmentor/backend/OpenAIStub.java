@@ -0,0 +1,172 @@
+package com.prepmentor.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Local stand-in for the OpenAI chat completions API, shared by the tests that
+ * go through the real OpenAI client. Every request is answered with a chat
+ * completion whose content is computed from the request body, unless a fixed
+ * response was set with {@link #respond}. Requests are handled concurrently, so
+ * the content function may block.
+ * <p>
+ * The server starts on the first call of {@link #url()}, so that AOT processing
+ * of a test context that only registers the URL does not leave it running.
+ */
+final class OpenAIStub implements AutoCloseable {
+
+    /** Tokens every completion reports as used. */
+    static final int TOTAL_TOKENS = 120;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Function<String, String> content;
+
+    private final Map<String, HttpHandler> otherContexts = new LinkedHashMap<>();
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private volatile Integer status;
+
+    private volatile String body;
+
+    /**
+     * Creates a stub answering with the content computed by a function.
+     *
+     * @param content computes the completion content from the request body
+     */
+    OpenAIStub(Function<String, String> content) {
+        this.content = content;
+    }
+
+    /**
+     * Creates a stub answering question generation requests with the given
+     * questions and every other request with the given evaluation.
+     *
+     * @param questions  the generated questions
+     * @param evaluation the evaluation content, see {@link #evaluation}
+     * @return the stub
+     */
+    static OpenAIStub answering(List<String> questions, String evaluation) {
+        String numbered = IntStream.range(0, questions.size())
+                .mapToObj(i -> (i + 1) + ". " + questions.get(i))
+                .collect(Collectors.joining("\n"));
+        return new OpenAIStub(request -> isGeneration(request) ? numbered : evaluation);
+    }
+
+    /**
+     * Tells whether a chat completion request asks for interview questions
+     * rather than for the evaluation of an answer.
+     *
+     * @param request the request body
+     * @return true for a question generation request
+     */
+    static boolean isGeneration(String request) {
+        return request.contains("interview questions");
+    }
+
+    /**
+     * Formats an evaluation as OpenAI is prompted to return it, with the same
+     * score in every dimension.
+     *
+     * @param score    the score, out of 5
+     * @param feedback the feedback text
+     * @return the evaluation content
+     */
+    static String evaluation(int score, String feedback) {
+        return "Score (overall, out of 5): " + score + "\nCorrectness (0-5): " + score
+                + "\nCompleteness (0-5): " + score + "\nClarity (0-5): " + score + "\nFeedback: " + feedback;
+    }
+
+    /**
+     * Serves another path from the same server, such as a stand-in for S3. Must
+     * be called before the server starts.
+     *
+     * @param path    the path prefix
+     * @param handler the handler of the requests under it
+     * @return this stub
+     */
+    OpenAIStub serve(String path, HttpHandler handler) {
+        otherContexts.put(path, handler);
+        return this;
+    }
+
+    /**
+     * Answers every following request with a fixed status and body instead of a
+     * completion.
+     *
+     * @param status the HTTP status
+     * @param body   the response body
+     */
+    void respond(int status, String body) {
+        this.body = body;
+        this.status = status;
+    }
+
+    /**
+     * Returns the base URL of the stub, starting it if needed.
+     *
+     * @return the base URL, to be set as {@code openai.api.url}
+     */
+    synchronized String url() {
+        if (server == null) {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            executor = Executors.newCachedThreadPool();
+            server.setExecutor(executor);
+            server.createContext("/v1/chat/completions", this::complete);
+            otherContexts.forEach(server::createContext);
+            server.start();
+        }
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private void complete(HttpExchange exchange) throws IOException {
+        String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        int responseStatus = 200;
+        String responseBody;
+        if (status != null) {
+            responseStatus = status;
+            responseBody = body;
+        } else {
+            responseBody = MAPPER.writeValueAsString(Map.of(
+                    "choices", List.of(Map.of("message", Map.of("content", content.apply(request)))),
+                    "usage", Map.of("total_tokens", TOTAL_TOKENS)));
+        }
+        byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.dto.QuestionPreviewResponse;
+import com.prepmentor.backend.enums.QuestionSetStatus;
+import com.prepmentor.backend.exception.BadRequestException;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.QuestionSet;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.LookupService;
+import com.prepmentor.backend.service.QuestionSearchService;
+import com.prepmentor.backend.service.QuestionSetService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies that published questions are indexed and ranked by keyword search.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ QuestionSetService.class, QuestionSearchService.class, LookupService.class })
+public class QuestionSearchServiceTest {
+
+    @Autowired
+    private QuestionSetService questionSetService;
+
+    @Autowired
+    private QuestionSearchService questionSearchService;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestFixtures.user("Search User", "search@example.com"));
+    }
+
+    @Test
+    void search_ranksPublishedQuestionsByKeywordWeight() {
+        Long javaSet = createSet("Java", "EASY", "java",
+                "Explain garbage collection in the JVM.",
+                "How does the JVM load classes?",
+                "What is a Java record?");
+        Long sqlSet = createSet("SQL", "HARD", "sql",
+                "Explain how an index speeds up a SQL query.");
+        createSet("Java", "EASY", "java", "Explain JVM garbage collection tuning.");
+
+        questionSetService.confirmQuestionSet(javaSet);
+        questionSetService.confirmQuestionSet(sqlSet);
+
+        List<String> jvmHits = texts(questionSearchService.search("jvm garbage", null, null, 10));
+        Assertions.assertEquals(List.of(
+                "Explain garbage collection in the JVM.",
+                "How does the JVM load classes?"), jvmHits);
+
+        List<String> explainHits = texts(questionSearchService.search("Explain", "SQL", "HARD", 10));
+        Assertions.assertEquals(List.of("Explain how an index speeds up a SQL query."), explainHits);
+
+        Assertions.assertEquals(1, questionSearchService.search("explain", null, null, 1).size());
+        Assertions.assertTrue(questionSearchService.search("kubernetes", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void search_rejectsQueryWithoutKeywords() {
+        Assertions.assertThrows(BadRequestException.class,
+                () -> questionSearchService.search("what is the", null, null, 10));
+    }
+
+    private Long createSet(String type, String difficulty, String tags, String... texts) {
+        QuestionSet qs = QuestionSet.builder()
+                .name(type + " set")
+                .createdAt(Instant.now())
+                .createdBy(user)
+                .type(lookupService.resolveType(type))
+                .difficulty(lookupService.resolveDifficulty(difficulty))
+                .tags(tags)
+                .status(QuestionSetStatus.DRAFT)
+                .build();
+        List<Question> questions = new ArrayList<>();
+        for (String text : texts) {
+            questions.add(Question.builder().text(text).type(qs.getType()).difficulty(qs.getDifficulty())
+                    .tags(lookupService.resolveTags(tags)).questionSet(qs).build());
+        }
+        qs.setQuestions(questions);
+        return questionSetRepository.save(qs).getId();
+    }
+
+    private static List<String> texts(List<QuestionPreviewResponse> previews) {
+        return previews.stream().map(QuestionPreviewResponse::getText).collect(Collectors.toList());
+    }
+}
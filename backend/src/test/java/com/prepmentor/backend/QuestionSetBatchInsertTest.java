@@ -0,0 +1,124 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.dto.QuestionSetRequest;
+import com.prepmentor.backend.exception.BadRequestException;
+import com.prepmentor.backend.model.Difficulty;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.QuestionRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.LookupService;
+import com.prepmentor.backend.service.QuestionSearchService;
+import com.prepmentor.backend.service.QuestionSetService;
+import com.prepmentor.backend.util.LookupNames;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Verifies that generating a question set is written with a handful of JDBC
+ * statements instead of one INSERT round trip per question, and that lookup
+ * values are resolved regardless of case through a bounded cache.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ QuestionSetService.class, QuestionSearchService.class, LookupService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class QuestionSetBatchInsertTest {
+
+    @Autowired
+    private QuestionSetService questionSetService;
+
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Test
+    void createDraftQuestionSet_batchesQuestionInserts() {
+        User user = userRepository.save(TestFixtures.user("Batch User", "batch@example.com"));
+
+        QuestionSetRequest req = new QuestionSetRequest();
+        req.setName("Java basics");
+        req.setType("Java");
+        req.setDifficulty("EASY");
+        req.setTags("java core");
+        req.setQuantity(50);
+        List<String> questions = IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> "Question " + i)
+                .toList();
+
+        // The lookup rows are created once per value; measure the steady state
+        lookupService.resolveType(req.getType());
+        lookupService.resolveDifficulty(req.getDifficulty());
+        lookupService.resolveTags(req.getTags());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Long questionSetId = questionSetService.createDraftQuestionSet(req, user.getId(), questions);
+
+        Assertions.assertEquals(51, statistics.getEntityInsertCount());
+        // user lookup, question_set insert, and one batched insert each for questions and their tags
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "Expected a handful of statements but got " + statistics.getPrepareStatementCount());
+        Assertions.assertEquals(50, questionRepository.findByQuestionSetId(questionSetId).size());
+    }
+
+    @Test
+    void lookupValues_areResolvedIgnoringCaseFromABoundedCache() {
+        // A service of its own, so its small cache does not affect the shared one
+        LookupService lookupService = beanFactory.createBean(LookupService.class);
+        ReflectionTestUtils.setField(lookupService, "maxCachedEntries", 4);
+
+        Integer typeId = lookupService.resolveType("Distributed  Systems").getId();
+        Assertions.assertEquals(typeId, lookupService.resolveType(" DISTRIBUTED systems").getId());
+        Assertions.assertEquals(typeId, lookupService.resolveFilter("distributed systems", null, null).getTypeId());
+        Assertions.assertEquals("Distributed Systems", lookupService.resolveType("distributed systems").getName());
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(1, lookupService.resolveTags("bounded" + i).size());
+        }
+        Assertions.assertNotNull(lookupService.resolveFilter(null, null, "bounded9").getTagId());
+        Assertions.assertThrows(BadRequestException.class,
+                () -> lookupService.resolveFilter(null, null, "bounded8, bounded9"));
+        Map<?, ?> tags = (Map<?, ?>) ReflectionTestUtils.getField(lookupService, "tags");
+        Assertions.assertTrue(tags.size() <= 4, tags.size() + " tags cached");
+    }
+
+    @Test
+    void longLookupNames_areCutToTheirColumnSize() {
+        String difficulty = "Very hard " + "x".repeat(50);
+        Assertions.assertEquals(60, difficulty.length());
+
+        Difficulty resolved = lookupService.resolveDifficulty(difficulty);
+        Assertions.assertEquals(difficulty.substring(0, LookupNames.MAX_DIFFICULTY_LENGTH), resolved.getName());
+        Assertions.assertEquals(resolved.getId(), lookupService.resolveFilter(null, difficulty, null).getDifficultyId());
+
+        String type = "Systems " + "y".repeat(140);
+        Assertions.assertEquals(LookupNames.MAX_TYPE_LENGTH, lookupService.resolveType(type).getName().length());
+    }
+}
@@ -0,0 +1,156 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.OpenAIService;
+import com.prepmentor.backend.service.RateLimitService;
+import com.prepmentor.backend.util.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the per-user rate limiting of the endpoints calling OpenAI with its
+ * request metrics, and that the limiter stays bounded in memory and exact under
+ * contention.
+ */
+@DisabledInAotMode
+@SpringBootTest(properties = {
+        "rate-limit.generate.capacity=2",
+        "rate-limit.generate.period=1h",
+        "rate-limit.max-tracked-users=3" })
+@AutoConfigureMockMvc
+public class RateLimitTest {
+
+    private static final String EMAIL = "ratelimit@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private OpenAIService openAIService;
+
+    @Test
+    @WithMockUser(username = EMAIL)
+    void generate_isLimitedPerUser() throws Exception {
+        userRepository.save(TestFixtures.user("Rate User", EMAIL));
+        Mockito.when(openAIService.generateQuestions(Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("What is a token bucket?")));
+        String body = "{\"name\": \"Limited\", \"type\": \"Limits\", \"difficulty\": \"EASY\", \"quantity\": 1}";
+
+        for (int remaining = 1; remaining >= 0; remaining--) {
+            mockMvc.perform(post("/api/question-sets/generate").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(header().string("RateLimit-Limit", "2"))
+                    .andExpect(header().string("RateLimit-Remaining", String.valueOf(remaining)));
+        }
+
+        // One token comes back every 30 minutes
+        mockMvc.perform(post("/api/question-sets/generate").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1800"))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(header().string("RateLimit-Reset", "3600"))
+                .andExpect(jsonPath("$.statusCode").value(429));
+        Mockito.verify(openAIService, Mockito.times(2)).generateQuestions(Mockito.any());
+
+        Assertions.assertEquals(2, meterRegistry.get("rate.limit.requests")
+                .tags("policy", "generate", "result", "allowed").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("rate.limit.requests")
+                .tags("policy", "generate", "result", "rejected").counter().count());
+    }
+
+    @Test
+    void manyUsers_stayWithinTrackedBucketLimit() {
+        for (int i = 0; i < 50; i++) {
+            Assertions.assertNotNull(rateLimitService.tryAcquire("bounded", "user" + i));
+        }
+        // The cap plus one shared overflow bucket per policy
+        Assertions.assertTrue(rateLimitService.getTrackedBucketCount() <= 3 + 2,
+                rateLimitService.getTrackedBucketCount() + " buckets tracked");
+    }
+
+    @Test
+    void sweepAtTheCap_runsAtMostOncePerInterval() throws Exception {
+        RateLimitService service = new RateLimitService(new SimpleMeterRegistry());
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("rate-limit.sweep.capacity", "1")
+                .withProperty("rate-limit.sweep.period", "1ms");
+        env.setConversionService(new ApplicationConversionService());
+        ReflectionTestUtils.setField(service, "env", env);
+        ReflectionTestUtils.setField(service, "maxTrackedUsers", 2);
+        ReflectionTestUtils.setField(service, "overflowSweepInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "lastOverflowSweep", new AtomicLong(System.nanoTime()
+                - Duration.ofHours(2).toNanos()));
+
+        service.tryAcquire("sweep", "a");
+        service.tryAcquire("sweep", "b");
+        Thread.sleep(10);
+        // At the cap with both buckets refilled: the sweep drops them
+        service.tryAcquire("sweep", "c");
+        Assertions.assertEquals(1, service.getTrackedBucketCount());
+        service.tryAcquire("sweep", "d");
+        Thread.sleep(10);
+        // At the cap again within the interval: no sweep, the overflow bucket is used
+        service.tryAcquire("sweep", "e");
+        Assertions.assertEquals(3, service.getTrackedBucketCount());
+    }
+
+    @Test
+    void tokenBucket_allowsExactlyItsCapacityUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, Duration.ofHours(1).toNanos(), System.nanoTime());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                attempts.add(() -> bucket.tryConsume(System.nanoTime()).isAllowed());
+            }
+            int allowed = 0;
+            for (Future<Boolean> attempt : executor.invokeAll(attempts)) {
+                allowed += attempt.get() ? 1 : 0;
+            }
+            Assertions.assertEquals(100, allowed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.exception.NotFoundException;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.QuestionSetService;
+import com.prepmentor.backend.config.ReplicaStickiness;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two separate in-memory databases, one as primary and one as
+ * replica, and checks which of them read-only service methods are answered
+ * from.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica.jdbc-url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "datasource.replica.username=sa",
+        "datasource.routing.sticky-window=1m" })
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingTest {
+
+    private static final CountDownLatch evaluationRequested = new CountDownLatch(1);
+
+    private static final CountDownLatch evaluationReleased = new CountDownLatch(1);
+
+    /** Holds the evaluation until the test releases it. */
+    private static final OpenAIStub openAI = new OpenAIStub(request -> {
+        evaluationRequested.countDown();
+        try {
+            evaluationReleased.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return OpenAIStub.evaluation(3, "Fine.");
+    });
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private ReplicaStickiness stickiness;
+
+    @Autowired
+    private QuestionSetService questionSetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @DynamicPropertySource
+    static void openAIUrl(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.url", openAI::url);
+    }
+
+    @AfterAll
+    static void stopStubOpenAI() {
+        openAI.close();
+    }
+
+    @BeforeEach
+    void migrateReplica() {
+        // Stands in for replication of the schema
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_areServedByReplica() {
+        userRepository.save(TestFixtures.user("Primary", "routing-primary@example.com"));
+        new JdbcTemplate(replicaDataSource).update(
+                "INSERT INTO users (id, email, name, password) VALUES (9999, 'routing-replica@example.com', 'R', 'x')");
+
+        Assertions.assertThrows(NotFoundException.class,
+                () -> questionSetService.getUserIdByEmail("routing-primary@example.com"));
+        Assertions.assertEquals(9999L, questionSetService.getUserIdByEmail("routing-replica@example.com"));
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromPrimary() {
+        authenticate("routing-writer@example.com");
+        User writer = userRepository.save(TestFixtures.user("Writer", "routing-writer@example.com"));
+
+        Assertions.assertEquals(writer.getId(), questionSetService.getUserIdByEmail("routing-writer@example.com"));
+
+        authenticate("routing-reader@example.com");
+        Assertions.assertThrows(NotFoundException.class,
+                () -> questionSetService.getUserIdByEmail("routing-writer@example.com"));
+    }
+
+    @Test
+    @WithMockUser(username = "routing-evaluated@example.com")
+    void dashboardReadAfterAsyncEvaluation_isServedByPrimary() throws Exception {
+        User user = userRepository.save(TestFixtures.user("Evaluated", "routing-evaluated@example.com"));
+        Long questionId = questionSetRepository.save(TestFixtures.publishedSet(user, "Routing set",
+                List.of("What is replication lag?"))).getQuestions().get(0).getId();
+
+        String body = "{\"questionId\": " + questionId + ", \"answerType\": \"TEXT\", \"answerText\": \"Delay\"}";
+        MvcResult submission = mockMvc.perform(post("/api/answers").contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Forget the writes made so far, so that only the evaluation stored on the
+        // task executor can keep the user on the primary
+        Assertions.assertTrue(evaluationRequested.await(1, TimeUnit.MINUTES));
+        ((Map<?, ?>) ReflectionTestUtils.getField(stickiness, "pinnedUntil")).clear();
+        evaluationReleased.countDown();
+        mockMvc.perform(asyncDispatch(submission))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.score").value(3));
+
+        // The replica has neither the user nor the answer
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.questionsAnsweredCount").value(1));
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
@@ -0,0 +1,279 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.repository.AnswerRepository;
+import com.prepmentor.backend.repository.QuestionRepository;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.QuestionTermRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs the repository queries on the request path, captures the statements they
+ * send to the database and checks with EXPLAIN that the table each one filters
+ * is read through an index created by the Flyway migrations rather than
+ * scanned.
+ * <p>
+ * The bound values are inlined into the statements before EXPLAIN, as the MySQL
+ * driver does with its default client-side prepared statements, so the planner
+ * sees the same constants as in production; a filter switched off by a null
+ * parameter disappears from the plan as it does there.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class RepositoryIndexUsageTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private QuestionTermRepository questionTermRepository;
+
+    @Test
+    void findIdByUserIdAndQuestionId_usesUniqueAnswerIndex() {
+        assertUsesIndex(() -> answerRepository.findIdByUserIdAndQuestionId(1L, 2L),
+                "answer", "uk_answer_user_question");
+    }
+
+    @Test
+    void findWithQuestionAndFeedback_usesAnswerUserIndex() {
+        // The question is matched on the fetched question row; MySQL carries the
+        // equality over to the unique (user, question) index, H2 seeks on the user
+        assertUsesIndex(() -> answerRepository.findWithQuestionAndFeedback(1L, 2L),
+                "answer", "uk_answer_user_question", "fk_answer_user");
+    }
+
+    @Test
+    void findSubmissionContext_usesUniqueAnswerIndex() {
+        assertUsesIndex(() -> answerRepository.findSubmissionContext(2L, 1L),
+                "answer", "uk_answer_user_question");
+    }
+
+    @Test
+    void summarizeScoresByUserId_usesAnswerUserIndex() {
+        assertUsesIndex(() -> answerRepository.summarizeScoresByUserId(1L),
+                "answer", "uk_answer_user_question", "idx_answer_user_score_submitted", "fk_answer_user");
+    }
+
+    @Test
+    void findRecentLowScores_usesAnswerUserScoreIndex() {
+        assertUsesIndex(() -> answerRepository.findRecentLowScores(1L, 2, PageRequest.of(0, 5)),
+                "answer", "idx_answer_user_score_submitted");
+    }
+
+    @Test
+    void findByQuestionSetId_usesQuestionSetIndex() {
+        assertUsesIndex(() -> questionRepository.findByQuestionSetId(1L),
+                "question", "idx_question_set_id", "fk_question_question_set");
+    }
+
+    @Test
+    void findSummariesByCreatedById_usesCreatorIndex() {
+        assertUsesIndex(() -> questionSetRepository.findSummariesByCreatedById(1L,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"))),
+                "question_set", "idx_question_set_created_by", "fk_question_set_created_by");
+    }
+
+    @Test
+    void typeAndDifficultyFilter_usesTypeDifficultyIndex() {
+        assertUsesIndex(() -> questionRepository.findPreviews(1, 2, null, PageRequest.of(0, 20)),
+                "question", "idx_question_type_difficulty");
+        assertUsesIndex(() -> questionRepository.countPreviews(1, 2, null),
+                "question", "idx_question_type_difficulty");
+    }
+
+    @Test
+    void tagFilter_usesQuestionTagIndex() {
+        assertUsesIndex(() -> questionRepository.findPreviews(null, null, 3, PageRequest.of(0, 20)),
+                "question_tag", "idx_question_tag_tag");
+        assertUsesIndex(() -> questionRepository.findPreviews(null, null, 3, PageRequest.of(0, 20)),
+                "question", "primary_key");
+    }
+
+    @Test
+    void previewsAfterId_seekOnQuestionPrimaryKey() {
+        assertUsesIndex(() -> questionRepository.findPreviewsAfterId(null, null, null, 100L, Limit.of(20)),
+                "question", "primary_key");
+    }
+
+    @Test
+    void previewTags_useQuestionTagPrimaryKey() {
+        assertUsesIndex(() -> questionRepository.findPreviewsByQuestionSetId(4L),
+                "question_tag", "primary_key");
+    }
+
+    @Test
+    void search_usesTermPrimaryKey() {
+        assertUsesIndex(() -> questionTermRepository.search(List.of("java", "streams"), null, null,
+                        PageRequest.of(0, 20)),
+                "question_term", "primary_key");
+    }
+
+    @Test
+    void findArchivable_usesArchivedSubmittedIndex() {
+        assertUsesIndex(() -> answerRepository.findArchivable(Instant.parse("2025-01-01T00:00:00Z"), Limit.of(500)),
+                "answer", "idx_answer_archived_submitted");
+    }
+
+    /**
+     * Runs a repository query and checks the plan of every statement it issued
+     * on the given table.
+     */
+    private void assertUsesIndex(Runnable query, String table, String... acceptedIndexes) {
+        statementCapture.clear();
+        query.run();
+        List<CapturedStatement> statements = statementCapture.statements().stream()
+                .filter(statement -> statement.sql().matches("(?s).*\\b" + table + "\\b.*"))
+                .toList();
+        Assertions.assertFalse(statements.isEmpty(), "No statement on " + table + " was issued");
+        for (CapturedStatement statement : statements) {
+            String sql = statement.inlined();
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+            Assertions.assertFalse(plan.contains("public." + table + ".tablescan"),
+                    "Expected an index lookup on " + table + " but got: " + plan);
+            Assertions.assertTrue(List.of(acceptedIndexes).stream().anyMatch(plan::contains),
+                    "Expected one of " + List.of(acceptedIndexes) + " in plan: " + plan);
+        }
+    }
+
+    /**
+     * A statement prepared through the data source and the values bound to its
+     * parameters, by position.
+     */
+    record CapturedStatement(String sql, Map<Integer, Object> values) {
+
+        /**
+         * Returns the statement with its parameters replaced by the bound values
+         * as SQL literals. The captured queries contain no question marks inside
+         * string literals.
+         */
+        String inlined() {
+            StringBuilder inlined = new StringBuilder();
+            int parameter = 0;
+            for (char c : sql.toCharArray()) {
+                if (c == '?') {
+                    inlined.append(literal(values.get(++parameter)));
+                } else {
+                    inlined.append(c);
+                }
+            }
+            return inlined.toString();
+        }
+
+        private static String literal(Object value) {
+            if (value == null) {
+                return "NULL";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+
+    /**
+     * Wraps the data source so that every prepared statement and the values
+     * bound to it are recorded.
+     */
+    static class StatementCapture implements BeanPostProcessor {
+
+        private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+        List<CapturedStatement> statements() {
+            return new ArrayList<>(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return proxy(DataSource.class, (p, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return result instanceof Connection connection ? capture(connection) : result;
+                });
+            }
+            return bean;
+        }
+
+        private Connection capture(Connection connection) {
+            return proxy(Connection.class, (p, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    CapturedStatement captured = new CapturedStatement((String) args[0], new TreeMap<>());
+                    statements.add(captured);
+                    return capture(statement, captured);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, CapturedStatement captured) {
+            return proxy(PreparedStatement.class, (p, method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer parameter) {
+                    captured.values().put(parameter, method.getName().equals("setNull") ? null : args[1]);
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.prepmentor.backend;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.prepmentor.backend.config.RequestIdFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the request ids in the MDC, their propagation to the task executor
+ * and the async, caller-data-free log appenders. The cost per request is
+ * measured by {@link LoggingBenchmarkTest}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class RequestIdLoggingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Test
+    @WithMockUser(username = "requestid@example.com")
+    void requestId_isGeneratedOrKept() throws Exception {
+        mockMvc.perform(get("/api/questions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestIdFilter.HEADER, matchesPattern("[0-9a-f]{16}")));
+        mockMvc.perform(get("/api/questions").header(RequestIdFilter.HEADER, "client-42.a_b"))
+                .andExpect(header().string(RequestIdFilter.HEADER, "client-42.a_b"));
+        mockMvc.perform(get("/api/questions").header(RequestIdFilter.HEADER, "not valid\r\nX-Evil: 1"))
+                .andExpect(header().string(RequestIdFilter.HEADER, matchesPattern("[0-9a-f]{16}")));
+
+        // Cleared once the request is done
+        Assertions.assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void taskExecutor_carriesTheMdcOver() throws Exception {
+        CompletableFuture<String> seen = new CompletableFuture<>();
+        MDC.put(RequestIdFilter.MDC_KEY, "task-id");
+        try {
+            taskExecutor.execute(() -> seen.complete(MDC.get(RequestIdFilter.MDC_KEY)));
+        } finally {
+            MDC.remove(RequestIdFilter.MDC_KEY);
+        }
+        Assertions.assertEquals("task-id", seen.get(10, TimeUnit.SECONDS));
+
+        CompletableFuture<String> later = new CompletableFuture<>();
+        taskExecutor.execute(() -> later.complete(String.valueOf(MDC.get(RequestIdFilter.MDC_KEY))));
+        Assertions.assertEquals("null", later.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rootAppenders_areAsyncWithoutCallerData() {
+        Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            appenders.add(it.next());
+        }
+        Assertions.assertEquals(2, appenders.size());
+        for (Appender<ILoggingEvent> appender : appenders) {
+            AsyncAppender async = Assertions.assertInstanceOf(AsyncAppender.class, appender);
+            Assertions.assertFalse(async.isIncludeCallerData());
+            Assertions.assertEquals(1024, async.getQueueSize());
+            Assertions.assertEquals(256, async.getDiscardingThreshold());
+        }
+    }
+}
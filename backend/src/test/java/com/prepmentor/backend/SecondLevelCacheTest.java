@@ -0,0 +1,100 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.dto.AnswerRequest;
+import com.prepmentor.backend.dto.QuestionSetRequest;
+import com.prepmentor.backend.enums.QuestionSetStatus;
+import com.prepmentor.backend.model.QuestionSet;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.QuestionRepository;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.AnswerService;
+import com.prepmentor.backend.service.QuestionSetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+/**
+ * Verifies that questions and question sets are served from the second-level
+ * cache, that publishing a draft refreshes the cached set, and that answer
+ * submissions do not evict the cache, with the region hit counts published
+ * as metrics. Shares the MockMvc context of the other full-context tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QuestionSetService questionSetService;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void setsAndQuestionsAreServedFromCache() {
+        User user = userRepository.save(TestFixtures.user("Cache User", "cache@example.com"));
+        QuestionSetRequest req = new QuestionSetRequest();
+        req.setName("Cached set");
+        req.setType("Caching");
+        req.setDifficulty("HARD");
+        req.setTags("ehcache");
+        Long setId = questionSetService.createDraftQuestionSet(req, user.getId(),
+                List.of("What is a cache stampede?", "When is write-through preferable?"));
+        Long questionId = questionRepository.findByQuestionSetId(setId).get(0).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Assertions.assertEquals(QuestionSetStatus.DRAFT, questionSetRepository.findById(setId).orElseThrow().getStatus());
+        Assertions.assertEquals("What is a cache stampede?", questionRepository.findById(questionId).orElseThrow().getText());
+        Assertions.assertEquals(2, questionRepository.findByQuestionSetId(setId).size());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Publishing updates the cached copy of the draft when the transaction commits
+        questionSetService.confirmQuestionSet(setId);
+        statistics.clear();
+        Assertions.assertEquals(QuestionSetStatus.PUBLISHED,
+                questionSetRepository.findById(setId).orElseThrow().getStatus());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+        // The answer upsert is a native statement declared to touch the answer table only
+        AnswerRequest answer = new AnswerRequest();
+        answer.setQuestionId(questionId);
+        answer.setAnswerType("TEXT");
+        answer.setAnswerText("Many misses at once");
+        answerService.handleAnswerUpload(answer, user.getId());
+        statistics.clear();
+        questionSetRepository.findById(setId).orElseThrow();
+        Assertions.assertEquals(2, questionRepository.findByQuestionSetId(setId).size());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertTrue(statistics.getDomainDataRegionStatistics("question_set").getHitCount() > 0);
+
+
+        Assertions.assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "question_set", "result", "hit").functionCounter().count() > 0);
+        Assertions.assertNotNull(meterRegistry.get("hibernate.second.level.cache.puts")
+                .tag("region", "default-query-results-region").functionCounter());
+    }
+}
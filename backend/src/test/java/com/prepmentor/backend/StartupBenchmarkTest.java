@@ -0,0 +1,76 @@
+package com.prepmentor.backend;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.StreamSupport;
+
+/**
+ * Measures how long the application takes to start in a fresh JVM, as after an
+ * idle instance was spun down, and which startup steps take longest. Run with
+ * {@code ./gradlew startupBenchmark [-PstartupMaxSeconds=N]}; set
+ * {@code STARTUP_LAZY_INIT_ENABLED=true} in the environment to measure lazy
+ * initialization. The report is written to {@code build/reports/startup.txt}.
+ */
+@Tag("startup")
+public class StartupBenchmarkTest {
+
+    /** Startup steps listed in the report. */
+    private static final int SLOWEST_STEPS = 15;
+
+    @Test
+    void startup_staysWithinBudget() throws IOException {
+        Duration budget = Duration.ofSeconds(Long.getLong("startup.max-seconds", 60));
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10_000);
+        AtomicReference<Duration> timeTaken = new AtomicReference<>();
+
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.setApplicationStartup(applicationStartup);
+        application.addListeners(event -> {
+            if (event instanceof ApplicationReadyEvent ready) {
+                timeTaken.set(ready.getTimeTaken());
+            }
+        });
+        try (ConfigurableApplicationContext context = application.run("--server.port=0")) {
+            Assertions.assertTrue(context.isRunning(), "The application did not start");
+            StartupTimeline timeline = applicationStartup.getBufferedTimeline();
+            List<String> report = new ArrayList<>();
+            report.add("Started in " + timeTaken.get().toMillis() + " ms (budget " + budget.toMillis() + " ms)");
+            report.add("Slowest steps:");
+            timeline.getEvents().stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(SLOWEST_STEPS)
+                    .forEach(event -> report.add(String.format("%8d ms  %s %s", event.getDuration().toMillis(),
+                            event.getStartupStep().getName(), tags(event))));
+            String path = System.getProperty("startup.report");
+            if (path != null) {
+                Files.createDirectories(Path.of(path).getParent());
+                Files.write(Path.of(path), report);
+            }
+            report.forEach(System.out::println);
+        }
+        Assertions.assertTrue(timeTaken.get().compareTo(budget) <= 0,
+                "Startup took " + timeTaken.get().toMillis() + " ms");
+    }
+
+    private static String tags(StartupTimeline.TimelineEvent event) {
+        return StreamSupport.stream(event.getStartupStep().getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .toList()
+                .toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.enums.QuestionSetStatus;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.QuestionSet;
+import com.prepmentor.backend.model.User;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the users and question sets the tests start from. The entities are not
+ * saved. The test database is shared by every test context, so each test passes
+ * its own e-mail addresses and names.
+ */
+final class TestFixtures {
+
+    /** Password of every user built here. */
+    static final String PASSWORD = "secret";
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Builds a user.
+     *
+     * @param name  the user name
+     * @param email the e-mail address, unique across the tests
+     * @return the unsaved user
+     */
+    static User user(String name, String email) {
+        return User.builder().name(name).email(email).password(PASSWORD).build();
+    }
+
+    /**
+     * Builds numbered users named {@code "<name> <i>"} with e-mail addresses
+     * {@code "<emailPrefix><i>@example.com"}.
+     *
+     * @param name        the common part of the user names
+     * @param emailPrefix the common part of the e-mail addresses
+     * @param count       the number of users
+     * @return the unsaved users
+     */
+    static List<User> users(String name, String emailPrefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(user(name + " " + i, emailPrefix + i + "@example.com"));
+        }
+        return users;
+    }
+
+    /**
+     * Builds a published question set with one question per text, in order.
+     * Saving the set saves its questions.
+     *
+     * @param owner the user who created the set
+     * @param name  the set name
+     * @param texts the question texts
+     * @return the unsaved question set
+     */
+    static QuestionSet publishedSet(User owner, String name, List<String> texts) {
+        QuestionSet qs = QuestionSet.builder()
+                .name(name)
+                .createdAt(Instant.now())
+                .createdBy(owner)
+                .status(QuestionSetStatus.PUBLISHED)
+                .build();
+        List<Question> questions = new ArrayList<>();
+        for (String text : texts) {
+            questions.add(Question.builder().text(text).questionSet(qs).build());
+        }
+        qs.setQuestions(questions);
+        return qs;
+    }
+
+    /**
+     * Builds the texts {@code "<prefix> 1"} to {@code "<prefix> <count>"}.
+     *
+     * @param prefix the common part of the texts
+     * @param count  the number of texts
+     * @return the texts
+     */
+    static List<String> numbered(String prefix, int count) {
+        List<String> texts = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            texts.add(prefix + " " + i);
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,156 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.dto.AnswerRequest;
+import com.prepmentor.backend.dto.DashboardResponse;
+import com.prepmentor.backend.model.Answer;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.model.UserStats;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.repository.UserStatsRepository;
+import com.prepmentor.backend.service.AnswerArchiveService;
+import com.prepmentor.backend.service.AnswerService;
+import com.prepmentor.backend.service.UserStatsService;
+import com.prepmentor.backend.util.S3Uploader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies that the user_stats read model follows answer scoring and
+ * re-scoring, and that concurrent first scores of a user create a single row.
+ */
+@DisabledInAotMode
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ AnswerService.class, UserStatsService.class, AnswerArchiveService.class })
+public class UserStatsServiceTest {
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @MockitoBean
+    private S3Uploader s3Uploader;
+
+    private User user;
+    private List<Question> questions;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestFixtures.user("Stats User", "stats-" + System.nanoTime() + "@example.com"));
+        questions = questionSetRepository.save(TestFixtures.publishedSet(user, "Stats set",
+                List.of("What is a JVM?", "What is a record?"))).getQuestions();
+    }
+
+    @Test
+    void statsFollowScoringAndRescoring() {
+        submit(questions.get(0), 4, 4, 3, 5);
+        DashboardResponse first = answerService.getDashboardStats(user.getId());
+        Assertions.assertEquals(1, first.getQuestionsAnsweredCount());
+        Assertions.assertEquals(4.0, first.getAverageScore());
+        Assertions.assertTrue(first.getLowScoreQuestions().isEmpty());
+
+        submit(questions.get(1), 1, 1, 2, 2);
+        DashboardResponse second = answerService.getDashboardStats(user.getId());
+        Assertions.assertEquals(2, second.getQuestionsAnsweredCount());
+        Assertions.assertEquals(2.5, second.getAverageScore());
+        Assertions.assertEquals(2.5, second.getAverageCorrectness());
+        Assertions.assertEquals(1, second.getLowScoreQuestions().size());
+        Assertions.assertEquals(questions.get(1).getId(), second.getLowScoreQuestions().get(0).getQuestionId());
+
+        // Re-submitting clears the old score before the new one is applied
+        submit(questions.get(1), 5, 5, 5, 4);
+        DashboardResponse third = answerService.getDashboardStats(user.getId());
+        Assertions.assertEquals(2, third.getQuestionsAnsweredCount());
+        Assertions.assertEquals(4.5, third.getAverageScore());
+        Assertions.assertEquals(4.5, third.getAverageClarity());
+        Assertions.assertTrue(third.getLowScoreQuestions().isEmpty());
+
+        UserStats stats = userStatsRepository.findById(user.getId()).orElseThrow();
+        Assertions.assertEquals(2, stats.getScoredCount());
+        Assertions.assertEquals(9, stats.getScoreTotal());
+        Assertions.assertEquals(9, stats.getCorrectnessTotal());
+        Assertions.assertEquals(8, stats.getCompletenessTotal());
+        Assertions.assertEquals(9, stats.getClarityTotal());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentFirstScores_createOneRow() throws Exception {
+        // Several fresh users, each scored on both questions at once
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            users.add(userRepository.save(
+                    TestFixtures.user("First Score User " + i, "first-score-" + System.nanoTime() + "@example.com")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (User fresh : users) {
+                CyclicBarrier start = new CyclicBarrier(2);
+                List<Future<?>> scores = new ArrayList<>();
+                for (Question question : questions) {
+                    scores.add(executor.submit(() -> {
+                        start.await();
+                        submit(fresh, question, 3, 3, 3, 3);
+                        return null;
+                    }));
+                }
+                for (Future<?> score : scores) {
+                    score.get(30, TimeUnit.SECONDS);
+                }
+
+                UserStats stats = userStatsRepository.findById(fresh.getId()).orElseThrow();
+                Assertions.assertEquals(2, stats.getScoredCount());
+                Assertions.assertEquals(6, stats.getScoreTotal());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void submit(Question question, int score, int correctness, int completeness, int clarity) {
+        submit(user, question, score, correctness, completeness, clarity);
+    }
+
+    private void submit(User user, Question question, int score, int correctness, int completeness, int clarity) {
+        AnswerRequest request = new AnswerRequest();
+        request.setQuestionId(question.getId());
+        request.setAnswerType("TEXT");
+        request.setAnswerText("An answer");
+
+        Answer answer = (Answer) answerService.handleAnswerUpload(request, user.getId())[0];
+        answerService.applyFeedbackToAnswer(answer, String.join("\n",
+                "Score (overall, out of 5): " + score,
+                "Correctness (0-5): " + correctness,
+                "Completeness (0-5): " + completeness,
+                "Clarity (0-5): " + clarity,
+                "Feedback: Looks fine."));
+        answerService.saveFeedback(answer);
+    }
+}
@@ -0,0 +1,212 @@
+package com.prepmentor.backend;
+
+import com.prepmentor.backend.config.JwtUtil;
+import com.prepmentor.backend.config.OpenAIConfig;
+import com.prepmentor.backend.dto.AnswerRequest;
+import com.prepmentor.backend.model.Question;
+import com.prepmentor.backend.model.User;
+import com.prepmentor.backend.repository.QuestionSetRepository;
+import com.prepmentor.backend.repository.UserRepository;
+import com.prepmentor.backend.service.AnswerService;
+import com.prepmentor.backend.service.OpenAIBudgetService;
+import com.prepmentor.backend.service.OpenAIService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Checks the virtual thread mode: answer evaluations in flight are not bounded
+ * by Tomcat's platform threads, and the OkHttp, Hikari and JPA paths do not pin
+ * their carrier threads. Needs a Java 21 test runtime; the
+ * {@code virtualThreadTest} task provides one.
+ */
+@DisabledInNativeImage
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+public class VirtualThreadModeTest {
+
+    /** Well beyond the 200 request threads of Tomcat's platform thread pool. */
+    private static final int IN_FLIGHT = 500;
+
+    private static final CountDownLatch evaluationsStarted = new CountDownLatch(IN_FLIGHT);
+    private static final CompletableFuture<Void> releaseEvaluations = new CompletableFuture<>();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuestionSetRepository questionSetRepository;
+
+    /**
+     * Stands in for OpenAI with an evaluation that completes only when released, so
+     * every submission stays in flight.
+     */
+    @TestConfiguration
+    static class BlockingOpenAIConfig {
+
+        @Bean
+        @Primary
+        OpenAIService blockingOpenAIService(OpenAIConfig openAIConfig, OpenAIBudgetService budgetService,
+                                            @Qualifier("taskExecutor") TaskExecutor taskExecutor) {
+            return new OpenAIService(openAIConfig, budgetService, taskExecutor) {
+                @Override
+                public CompletableFuture<String> generateFeedback(String questionText, String answerText) {
+                    if (!answerText.startsWith("Load ")) {
+                        return CompletableFuture.completedFuture("Score (overall, out of 5): 3\nFeedback: Fine.");
+                    }
+                    evaluationsStarted.countDown();
+                    return releaseEvaluations.thenApply(released -> "Score (overall, out of 5): 4\nFeedback: Good.");
+                }
+            };
+        }
+    }
+
+    @Test
+    void evaluationsInFlight_exceedPlatformThreadPool() throws Exception {
+        User owner = userRepository.save(TestFixtures.user("Load Owner", "load-owner@example.com"));
+        Long questionId = createQuestions(owner, "Load set", 1).get(0).getId();
+        List<User> users = userRepository.saveAll(TestFixtures.users("Load User", "load", IN_FLIGHT));
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        try {
+            for (User user : users) {
+                String body = "{\"questionId\": " + questionId + ", \"answerType\": \"TEXT\", \"answerText\": \"Load "
+                        + user.getId() + "\"}";
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/answers"))
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(user.getEmail()))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+
+            Assertions.assertTrue(evaluationsStarted.await(2, TimeUnit.MINUTES),
+                    (IN_FLIGHT - evaluationsStarted.getCount()) + " of " + IN_FLIGHT + " evaluations got in flight");
+        } finally {
+            releaseEvaluations.complete(null);
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            Assertions.assertEquals(200, response.get(2, TimeUnit.MINUTES).statusCode());
+        }
+    }
+
+    @Test
+    void okHttpHikariAndJpaPaths_doNotPinCarrierThreads() throws Exception {
+        User user = userRepository.save(TestFixtures.user("Pin User", "pin@example.com"));
+        List<Question> questions = createQuestions(user, "Pinning set", 40);
+
+        OpenAIStub server = new OpenAIStub(request -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "";
+        });
+        OkHttpClient client = new OkHttpClient();
+        String url = server.url() + "/v1/chat/completions";
+
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            // More concurrent tasks than pooled connections, so some wait on Hikari
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (Question question : questions) {
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+                        Assertions.assertEquals(200, response.code());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    AnswerRequest request = new AnswerRequest();
+                    request.setQuestionId(question.getId());
+                    request.setAnswerType("TEXT");
+                    request.setAnswerText("Pinned?");
+                    answerService.handleAnswerUpload(request, user.getId());
+                    answerService.getAnswerByUserIdAndQuestionId(user.getId(), question.getId()).orElseThrow();
+                }, taskExecutor));
+            }
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture<?>[]::new)).get(1, TimeUnit.MINUTES);
+
+            recording.stop();
+            recording.dump(dump);
+        } finally {
+            server.close();
+        }
+
+        // H2 is only the test database; the MySQL driver does not block under monitors
+        List<String> pinnings = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getStackTrace() != null)
+                .map(VirtualThreadModeTest::frames)
+                .filter(frames -> frames.stream().noneMatch(frame -> frame.startsWith("org.h2.")))
+                .filter(frames -> frames.stream().anyMatch(frame -> frame.startsWith("okhttp3.")
+                        || frame.startsWith("com.zaxxer.hikari.")
+                        || frame.startsWith("org.hibernate.")))
+                .map(frames -> String.join("\n    ", frames))
+                .collect(Collectors.toList());
+        Files.deleteIfExists(dump);
+        Assertions.assertTrue(pinnings.isEmpty(), "Pinned carrier threads:\n" + String.join("\n", pinnings));
+    }
+
+    private static List<String> frames(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.toList());
+    }
+
+    private List<Question> createQuestions(User user, String name, int count) {
+        return questionSetRepository.save(TestFixtures.publishedSet(user, name,
+                TestFixtures.numbered(name + " question", count))).getQuestions();
+    }
+}
@@ -18,7 +18,8 @@ export interface QuestionSet {
   difficulty: string;
   tags: string;
   status: 'DRAFT' | 'PUBLISHED';
-  questions: string[];
+  questionCount?: number;
+  questions?: string[];
 }
 
 export interface Answer {
@@ -56,16 +57,20 @@ export interface DashboardStats {
 
 // Question Sets API
 export const questionSetApi = {
-  // Get all question sets
-  getAll: async (): Promise<QuestionSet[]> => {
+  // Get question set summaries (paginated on the backend)
+  getAll: async (page: number = 0, size: number = 100): Promise<QuestionSet[]> => {
     const token = localStorage.getItem("token");
-    const response = await fetch(`${BASE_URL}/question-sets`, {
+    const params = new URLSearchParams({
+      page: page.toString(),
+      size: size.toString()
+    });
+    const response = await fetch(`${BASE_URL}/question-sets?${params}`, {
       headers: {
         'Authorization': `Bearer ${token}`
       }
     });
     const data = await response.json();
-    return data.data;
+    return data.data?.content || [];
   },
 
   // Publish a question set
@@ -102,10 +107,15 @@ export const questionSetApi = {
 
   // Get question set by ID
   getById: async (id: string | number): Promise<QuestionSet> => {
-    const sets = await questionSetApi.getAll();
-    const set = sets.find(s => s.id === Number(id));
-    if (!set) throw new Error('Question set not found');
-    return set;
+    const token = localStorage.getItem("token");
+    const response = await fetch(`${BASE_URL}/question-sets/${id}`, {
+      headers: {
+        'Authorization': `Bearer ${token}`
+      }
+    });
+    const data = await response.json();
+    if (!response.ok || !data.data) throw new Error('Question set not found');
+    return data.data;
   },
 
   // Create new question set